@@ -6,6 +6,8 @@ import com.saiteja.apigateway.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -15,19 +17,12 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        // Initialize ROLE_USER if it doesn't exist
-        if (!roleRepository.findByName(ERole.ROLE_USER).isPresent()) {
-            Role userRole = new Role(ERole.ROLE_USER);
-            roleRepository.save(userRole);
-            System.out.println("Initialized ROLE_USER");
-        }
-
-        // Initialize ROLE_ADMIN if it doesn't exist
-        if (!roleRepository.findByName(ERole.ROLE_ADMIN).isPresent()) {
-            Role adminRole = new Role(ERole.ROLE_ADMIN);
-            roleRepository.save(adminRole);
-            System.out.println("Initialized ROLE_ADMIN");
-        }
+        // Initialize ROLE_USER and ROLE_ADMIN if they don't exist (blocking is fine during startup)
+        Flux.just(ERole.ROLE_USER, ERole.ROLE_ADMIN)
+                .concatMap(name -> roleRepository.findByName(name)
+                        .switchIfEmpty(Mono.defer(() -> roleRepository.save(new Role(name))
+                                .doOnNext(role -> System.out.println("Initialized " + name)))))
+                .then()
+                .block();
     }
 }
-
@@ -22,6 +22,7 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Base64;
+import java.util.concurrent.RejectedExecutionException;
 
 // @CrossOrigin removed - CORS is handled by Spring Cloud Gateway configuration
 @RestController
@@ -51,6 +52,7 @@ public class AuthController {
                             .header(HttpHeaders.SET_COOKIE, cookie.toString())
                             .body(jwtResponse);
                 })
+                .onErrorResume(RejectedExecutionException.class, e -> passwordHashingBusy())
                 .onErrorResume(e -> {
                     MessageResponse errorResponse = new MessageResponse("Error: Invalid username or password!");
                     return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse));
@@ -60,12 +62,13 @@ public class AuthController {
     @PostMapping("/signup")
     public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         return authService.register(signUpRequest)
-                .map(messageResponse -> {
+                .<ResponseEntity<?>>map(messageResponse -> {
                     if (messageResponse.getMessage().contains("Error")) {
                         return ResponseEntity.badRequest().body(messageResponse);
                     }
                     return ResponseEntity.ok(messageResponse);
-                });
+                })
+                .onErrorResume(RejectedExecutionException.class, e -> passwordHashingBusy());
     }
 
     @PostMapping("/signout")
@@ -113,7 +116,8 @@ public class AuthController {
         }
 
         return authService.changePassword(request)
-                .map(messageResponse -> ResponseEntity.ok(messageResponse));
+                .<ResponseEntity<?>>map(messageResponse -> ResponseEntity.ok(messageResponse))
+                .onErrorResume(RejectedExecutionException.class, e -> passwordHashingBusy());
     }
 
     @PostMapping("/forgot-password")
@@ -143,6 +147,7 @@ public class AuthController {
 
         return authService.resetPassword(request.getToken(), request.getNewPassword())
                 .<ResponseEntity<?>>map(messageResponse -> ResponseEntity.ok(messageResponse))
+                .onErrorResume(RejectedExecutionException.class, e -> passwordHashingBusy())
                 .onErrorResume(e -> {
                     MessageResponse errorResponse = new MessageResponse("Error: " + e.getMessage());
                     HttpStatus status = e.getMessage().contains("expired") || e.getMessage().contains("Invalid") 
@@ -152,6 +157,13 @@ public class AuthController {
                 });
     }
 
+    // The password hashing queue is full; fail fast and let the client retry
+    private static Mono<ResponseEntity<?>> passwordHashingBusy() {
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Too many sign-in requests, please try again shortly")));
+    }
+
     private String getTokenFromCookie(ServerHttpRequest request) {
         if (request.getCookies() != null && request.getCookies().containsKey(JWT_COOKIE_NAME)) {
             var cookie = request.getCookies().getFirst(JWT_COOKIE_NAME);
@@ -206,6 +218,7 @@ public class AuthController {
                     .header(HttpHeaders.SET_COOKIE, cookie.toString())
                     .body(jwtResponse);
         })
+        .onErrorResume(RejectedExecutionException.class, e -> passwordHashingBusy())
         .onErrorResume(e -> {
             MessageResponse errorResponse = new MessageResponse("Error: " + e.getMessage());
             return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse));
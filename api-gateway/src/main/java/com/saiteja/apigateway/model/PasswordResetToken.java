@@ -1,36 +1,24 @@
 package com.saiteja.apigateway.model;
 
-import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
-@Entity
-@Table(name = "password_reset_tokens",
-       uniqueConstraints = {
-           @UniqueConstraint(columnNames = "token")
-       })
+// Row of the password_reset_tokens table, with the user it belongs to
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PasswordResetToken {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 255)
     private String token;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
     private LocalDateTime expiryDate;
 
-    @Column(nullable = false)
     private LocalDateTime createdAt;
 
     public PasswordResetToken(String token, User user, LocalDateTime expiryDate) {
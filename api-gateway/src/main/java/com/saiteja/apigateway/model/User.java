@@ -1,6 +1,5 @@
 package com.saiteja.apigateway.model;
 
-import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,48 +10,32 @@ import lombok.NoArgsConstructor;
 import java.util.HashSet;
 import java.util.Set;
 
-@Entity
-@Table(name = "users",
-       uniqueConstraints = {
-           @UniqueConstraint(columnNames = "username"),
-           @UniqueConstraint(columnNames = "email")
-       })
+// Row of the users table, with its roles from user_roles
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank
     @Size(max = 20)
-    @Column(unique = true, nullable = false, length = 20)
     private String username;
 
     @NotBlank
     @Size(max = 50)
     @Email
-    @Column(unique = true, nullable = false, length = 50)
     private String email;
 
     @NotBlank
     @Size(max = 120)
-    @Column(nullable = false, length = 120)
     private String password;
 
     @Size(max = 20)
-    @Column(nullable = true, length = 20)
     private String provider; // google or local
 
     @Size(max = 100)
-    @Column(nullable = true, length = 100)
     private String providerId; // OAuth provider's user ID
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(name = "user_roles",
-               joinColumns = @JoinColumn(name = "user_id"),
-               inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
     public User(String username, String email, String password) {
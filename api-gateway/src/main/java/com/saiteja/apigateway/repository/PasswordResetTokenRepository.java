@@ -2,28 +2,67 @@ package com.saiteja.apigateway.repository;
 
 import com.saiteja.apigateway.model.PasswordResetToken;
 import com.saiteja.apigateway.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @Repository
-public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-    @Query("SELECT prt FROM PasswordResetToken prt JOIN FETCH prt.user WHERE prt.token = :token")
-    Optional<PasswordResetToken> findByToken(@Param("token") String token);
+@RequiredArgsConstructor
+public class PasswordResetTokenRepository {
 
-    Optional<PasswordResetToken> findByUser(User user);
+    private final DatabaseClient databaseClient;
 
-    @Modifying
-    @Query("DELETE FROM PasswordResetToken prt WHERE prt.user = :user")
-    void deleteByUser(@Param("user") User user);
+    // The token's user comes without roles, which a password reset does not need
+    public Mono<PasswordResetToken> findByToken(String token) {
+        return databaseClient.sql("SELECT t.id AS token_id, t.token, t.expiry_date, t.created_at, " +
+                        "u.id, u.username, u.email, u.password, u.provider, u.provider_id " +
+                        "FROM password_reset_tokens t JOIN users u ON u.id = t.user_id " +
+                        "WHERE t.token = :token")
+                .bind("token", token)
+                .map((row, metadata) -> new PasswordResetToken(
+                        row.get("token_id", Long.class),
+                        row.get("token", String.class),
+                        UserRepository.toUser(row),
+                        row.get("expiry_date", LocalDateTime.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .first();
+    }
 
-    @Modifying
-    @Query("DELETE FROM PasswordResetToken prt WHERE prt.expiryDate < :now")
-    void deleteByExpiryDateBefore(@Param("now") LocalDateTime now);
-}
+    public Mono<PasswordResetToken> save(PasswordResetToken resetToken) {
+        return databaseClient.sql("INSERT INTO password_reset_tokens (token, user_id, expiry_date, created_at) " +
+                        "VALUES (:token, :userId, :expiryDate, :createdAt)")
+                .bind("token", resetToken.getToken())
+                .bind("userId", resetToken.getUser().getId())
+                .bind("expiryDate", resetToken.getExpiryDate())
+                .bind("createdAt", resetToken.getCreatedAt())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    resetToken.setId(id);
+                    return resetToken;
+                });
+    }
+
+    public Mono<Void> delete(PasswordResetToken resetToken) {
+        return databaseClient.sql("DELETE FROM password_reset_tokens WHERE id = :id")
+                .bind("id", resetToken.getId())
+                .then();
+    }
 
+    public Mono<Void> deleteByUser(User user) {
+        return databaseClient.sql("DELETE FROM password_reset_tokens WHERE user_id = :userId")
+                .bind("userId", user.getId())
+                .then();
+    }
+
+    public Mono<Long> deleteByExpiryDateBefore(LocalDateTime now) {
+        return databaseClient.sql("DELETE FROM password_reset_tokens WHERE expiry_date < :now")
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+}
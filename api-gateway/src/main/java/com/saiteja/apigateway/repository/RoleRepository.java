@@ -2,13 +2,35 @@ package com.saiteja.apigateway.repository;
 
 import com.saiteja.apigateway.model.ERole;
 import com.saiteja.apigateway.model.Role;
-import org.springframework.data.jpa.repository.JpaRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
+import reactor.core.publisher.Mono;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Integer> {
-    Optional<Role> findByName(ERole name);
-}
+@RequiredArgsConstructor
+public class RoleRepository {
+
+    private final DatabaseClient databaseClient;
 
+    public Mono<Role> findByName(ERole name) {
+        return databaseClient.sql("SELECT id, name FROM roles WHERE name = :name")
+                .bind("name", name.name())
+                .map((row, metadata) -> toRole(row))
+                .first();
+    }
+
+    public Mono<Role> save(Role role) {
+        return databaseClient.sql("INSERT INTO roles (name) VALUES (:name)")
+                .bind("name", role.getName().name())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Integer.class))
+                .one()
+                .map(id -> new Role(id, role.getName()));
+    }
+
+    static Role toRole(Row row) {
+        return new Role(row.get("id", Integer.class), ERole.valueOf(row.get("name", String.class)));
+    }
+}
@@ -1,22 +1,129 @@
 package com.saiteja.apigateway.repository;
 
+import com.saiteja.apigateway.model.ERole;
+import com.saiteja.apigateway.model.Role;
 import com.saiteja.apigateway.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.Optional;
+import java.util.HashSet;
 
+/**
+ * Users and their roles over R2DBC. A user is read together with its roles in
+ * one joined query.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
-    Optional<User> findByUsername(@Param("username") String username);
-    
-    Boolean existsByUsername(String username);
-    Boolean existsByEmail(String email);
-    
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
-    Optional<User> findByEmail(@Param("email") String email);
-}
+@RequiredArgsConstructor
+public class UserRepository {
+
+    private static final String SELECT_WITH_ROLES =
+            "SELECT u.id, u.username, u.email, u.password, u.provider, u.provider_id, " +
+            "r.id AS role_id, r.name AS role_name " +
+            "FROM users u " +
+            "LEFT JOIN user_roles ur ON ur.user_id = u.id " +
+            "LEFT JOIN roles r ON r.id = ur.role_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByUsername(String username) {
+        return findOne("WHERE u.username = :value", username);
+    }
+
+    public Mono<User> findByEmail(String email) {
+        return findOne("WHERE u.email = :value", email);
+    }
+
+    public Mono<Boolean> existsByUsername(String username) {
+        return exists("SELECT 1 FROM users WHERE username = :value", username);
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return exists("SELECT 1 FROM users WHERE email = :value", email);
+    }
 
+    /**
+     * Inserts a new user together with its roles, or updates the columns of an
+     * existing one. Roles are only written when the user is created.
+     */
+    public Mono<User> save(User user) {
+        if (user.getId() != null) {
+            return databaseClient.sql("UPDATE users SET username = :username, email = :email, password = :password, " +
+                            "provider = :provider, provider_id = :providerId WHERE id = :id")
+                    .bind("id", user.getId())
+                    .bind("username", user.getUsername())
+                    .bind("email", user.getEmail())
+                    .bind("password", user.getPassword())
+                    .bind("provider", Parameter.fromOrEmpty(user.getProvider(), String.class))
+                    .bind("providerId", Parameter.fromOrEmpty(user.getProviderId(), String.class))
+                    .fetch()
+                    .rowsUpdated()
+                    .thenReturn(user);
+        }
+
+        return databaseClient.sql("INSERT INTO users (username, email, password, provider, provider_id) " +
+                        "VALUES (:username, :email, :password, :provider, :providerId)")
+                .bind("username", user.getUsername())
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .bind("provider", Parameter.fromOrEmpty(user.getProvider(), String.class))
+                .bind("providerId", Parameter.fromOrEmpty(user.getProviderId(), String.class))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> {
+                    user.setId(id);
+                    return Flux.fromIterable(user.getRoles())
+                            .concatMap(role -> databaseClient.sql("INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)")
+                                    .bind("userId", id)
+                                    .bind("roleId", role.getId())
+                                    .fetch()
+                                    .rowsUpdated())
+                            .then(Mono.just(user));
+                });
+    }
+
+    // One row per role; the rows are folded into the first user
+    private Mono<User> findOne(String where, String value) {
+        return databaseClient.sql(SELECT_WITH_ROLES + where)
+                .bind("value", value)
+                .map((row, metadata) -> toUserWithRole(row))
+                .all()
+                .reduce((user, next) -> {
+                    user.getRoles().addAll(next.getRoles());
+                    return user;
+                });
+    }
+
+    private Mono<Boolean> exists(String sql, String value) {
+        return databaseClient.sql(sql)
+                .bind("value", value)
+                .map((row, metadata) -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    static User toUser(Row row) {
+        User user = new User(row.get("username", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("provider", String.class),
+                row.get("provider_id", String.class));
+        user.setId(row.get("id", Long.class));
+        user.setRoles(new HashSet<>());
+        return user;
+    }
+
+    private static User toUserWithRole(Row row) {
+        User user = toUser(row);
+        Integer roleId = row.get("role_id", Integer.class);
+        if (roleId != null) {
+            user.getRoles().add(new Role(roleId, ERole.valueOf(row.get("role_name", String.class))));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,119 @@
+package com.saiteja.apigateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a dedicated pool so that password checks cannot take
+ * threads away from gateway routing. The pool has
+ * {@code password.hashing.threads} threads (one per CPU by default) and a
+ * queue of {@code password.hashing.queue-capacity} waiting hashes. Work
+ * arriving while the queue is full fails at once with a
+ * {@link RejectedExecutionException}, which the auth endpoints turn into a
+ * 503.
+ * <p>
+ * Publishes {@code password.hashing} (timer, tagged by operation),
+ * {@code password.hashing.queue.depth} and {@code password.hashing.rejected}.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder timedEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${password.hashing.threads:0}") int threads,
+                          @Value("${password.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        Counter rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashes refused because the hashing queue was full")
+                .register(meterRegistry);
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Password hashing queue is full");
+                });
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        this.timedEncoder = new TimedPasswordEncoder(passwordEncoder,
+                hashTimer(meterRegistry, "encode"), hashTimer(meterRegistry, "matches"));
+
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("Time spent hashing or checking a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public Mono<String> encode(String rawPassword) {
+        return Mono.fromCallable(() -> timedEncoder.encode(rawPassword))
+                .subscribeOn(scheduler);
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> timedEncoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(scheduler);
+    }
+
+    // For UserDetailsRepositoryReactiveAuthenticationManager, which checks sign-in passwords on scheduler()
+    public PasswordEncoder encoder() {
+        return timedEncoder;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private record TimedPasswordEncoder(PasswordEncoder delegate, Timer encodeTimer, Timer matchesTimer)
+            implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -53,11 +53,13 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public ReactiveAuthenticationManager reactiveAuthenticationManager(PasswordEncoder passwordEncoder) {
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(PasswordHasher passwordHasher) {
         // Create password-based authentication manager for signin
         UserDetailsRepositoryReactiveAuthenticationManager passwordAuthManager =
                 new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
-        passwordAuthManager.setPasswordEncoder(passwordEncoder);
+        // Check the password on the bounded hashing pool, not on a shared reactor scheduler
+        passwordAuthManager.setPasswordEncoder(passwordHasher.encoder());
+        passwordAuthManager.setScheduler(passwordHasher.scheduler());
         
         // Return a smart authentication manager that handles both cases:
         // 1. JWT tokens (has authorities, no credentials) - already validated, return as-is
@@ -86,6 +88,8 @@ public class WebSecurityConfig {
         jwtAuthenticationFilter.setRequiresAuthenticationMatcher(ServerWebExchangeMatchers.pathMatchers(
                 "/api/v1.0/flight/admin/flights/**",
                 "/api/v1.0/flight/admin/inventory",
+                "/api/v1.0/flight/admin/inventory/**",
+                "/api/v1.0/flight/admin/export/**",
                 "/api/v1.0/flight/booking/**",
                 "/api/v1.0/flight/ticket/id/**",
                 "/api/v1.0/flight/bookings/**",
@@ -108,14 +112,19 @@ public class WebSecurityConfig {
                                       "/api/v1.0/auth/reset-password",
                                       "/api/v1.0/auth/oauth/**").permitAll()
                         .pathMatchers("/health").permitAll()
-                        .pathMatchers("/api/v1.0/flight/admin/internal/**").permitAll()
+                        // Service-to-service endpoints (seat holds, releases); booking-service calls flight-service directly
+                        .pathMatchers("/api/v1.0/flight/admin/internal/**").denyAll()
                         .pathMatchers("/api/v1.0/flight/admin/search").permitAll()
+                        .pathMatchers("/api/v1.0/flight/admin/search/**").permitAll()
                         // OAuth2 endpoints
                         .pathMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
                         // Protected endpoints - require authentication with specific roles
                         .pathMatchers("/api/v1.0/auth/change-password").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                         .pathMatchers("/api/v1.0/flight/admin/flights/**").hasAnyAuthority("ROLE_ADMIN")
                         .pathMatchers("/api/v1.0/flight/admin/inventory").hasAnyAuthority("ROLE_ADMIN")
+                        .pathMatchers("/api/v1.0/flight/admin/inventory/**").hasAnyAuthority("ROLE_ADMIN")
+                        .pathMatchers("/api/v1.0/flight/admin/export/**").hasAnyAuthority("ROLE_ADMIN")
+                        .pathMatchers("/api/v1.0/flight/bookings/export").hasAnyAuthority("ROLE_ADMIN")
                         .pathMatchers("/api/v1.0/flight/booking/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                         .pathMatchers("/api/v1.0/flight/ticket/id/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                         .pathMatchers("/api/v1.0/flight/bookings/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
@@ -0,0 +1,65 @@
+package com.saiteja.apigateway.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * Signs the identity of a verified token into the compact
+ * {@value #HEADER} header forwarded to downstream services, so they can trust
+ * the user without parsing the JWT again.
+ * <p>
+ * The value is {@code base64url(payload) "." base64url(HMAC-SHA256(base64url(payload)))}
+ * with a payload of {@code expiry|userId|role,role|username}. The expiry is
+ * {@code identity.header.ttl-seconds} from now, never past the token's own,
+ * and the key is {@code identity.header.secret}, shared with the services.
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String HEADER = "X-Authenticated-User";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    public IdentityHeaderSigner(@Value("${identity.header.secret}") String secret,
+                                @Value("${identity.header.ttl-seconds:60}") long ttlSeconds) {
+        this(secret, ttlSeconds, Clock.systemUTC());
+    }
+
+    IdentityHeaderSigner(String secret, long ttlSeconds, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+    }
+
+    public String sign(VerifiedJwt jwt) {
+        long expiry = clock.instant().getEpochSecond() + ttlSeconds;
+        if (jwt.expiresAt() != null) {
+            expiry = Math.min(expiry, jwt.expiresAt().getEpochSecond());
+        }
+        String payload = expiry + "|" + (jwt.userId() == null ? "" : jwt.userId()) + "|"
+                + String.join(",", jwt.roles()) + "|" + jwt.username();
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + ENCODER.encodeToString(hmac(encoded));
+    }
+
+    private byte[] hmac(String encoded) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encoded.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign identity header", e);
+        }
+    }
+}
@@ -17,7 +17,7 @@ import java.util.List;
 public class JwtAuthenticationConverter implements ServerAuthenticationConverter {
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private JwtTokenVerifier jwtTokenVerifier;
     
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -30,18 +30,8 @@ public class JwtAuthenticationConverter implements ServerAuthenticationConverter
             return Mono.empty();
         }
         
-        if (!jwtUtils.validateJwtToken(jwt)) {
-            return Mono.empty();
-        }
-
-        try {
-            String username = jwtUtils.getUserNameFromJwtToken(jwt);
-            List<SimpleGrantedAuthority> authorities = extractAuthoritiesFromToken(jwt);
-            
-            return Mono.just(new UsernamePasswordAuthenticationToken(username, null, authorities));
-        } catch (Exception e) {
-            return Mono.empty();
-        }
+        return Mono.justOrEmpty(jwtTokenVerifier.verify(jwt))
+                .map(token -> new UsernamePasswordAuthenticationToken(token.username(), null, authorities(token)));
     }
 
     private String parseJwt(org.springframework.http.server.reactive.ServerHttpRequest request) {
@@ -71,28 +61,12 @@ public class JwtAuthenticationConverter implements ServerAuthenticationConverter
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<SimpleGrantedAuthority> extractAuthoritiesFromToken(String token) {
-        try {
-            io.jsonwebtoken.Claims claims = io.jsonwebtoken.Jwts.parserBuilder()
-                    .setSigningKey(jwtUtils.getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            List<String> roles = claims.get("roles", List.class);
-            if (roles == null) {
-                return new ArrayList<>();
-            }
-            
-            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-            for (String role : roles) {
-                authorities.add(new SimpleGrantedAuthority(role));
-            }
-            return authorities;
-        } catch (Exception e) {
-            return new ArrayList<>();
+    private List<SimpleGrantedAuthority> authorities(VerifiedJwt token) {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (String role : token.roles()) {
+            authorities.add(new SimpleGrantedAuthority(role));
         }
+        return authorities;
     }
 }
 
@@ -11,6 +11,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
@@ -19,31 +21,46 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String JWT_COOKIE_NAME = "jwt";
 
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    public JwtAuthenticationFilter(JwtTokenVerifier jwtTokenVerifier, IdentityHeaderSigner identityHeaderSigner) {
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.identityHeaderSigner = identityHeaderSigner;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
+        // Only the gateway may set the identity header, never trust one sent by a client
+        ServerHttpRequest.Builder forwarded = request.mutate()
+                .headers(headers -> headers.remove(IdentityHeaderSigner.HEADER));
+
         // Skip processing for public endpoints - just forward
         if (isPublicEndpoint(path)) {
-            return chain.filter(exchange);
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
         }
 
         // Extract JWT token from cookie or header
         String jwt = parseJwt(request);
         
-        // Always forward the Authorization header to downstream services if JWT token is found
-        // This ensures downstream services (like booking-service) receive the token
-        if (StringUtils.hasText(jwt)) {
-            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+        // Forward the Authorization header and the signed identity to downstream services if a valid JWT token is found
+        // Downstream services (like booking-service) read the user from the identity header instead of the token
+        // The verifier caches tokens, so a token already checked by Spring Security is not verified again
+        Optional<VerifiedJwt> verified = StringUtils.hasText(jwt) ? jwtTokenVerifier.verify(jwt) : Optional.empty();
+        if (verified.isPresent()) {
+            ServerHttpRequest modifiedRequest = forwarded
                     .header(AUTHORIZATION_HEADER, BEARER_PREFIX + jwt)
+                    .header(IdentityHeaderSigner.HEADER, identityHeaderSigner.sign(verified.get()))
                     .build();
             
             ServerWebExchange modifiedExchange = exchange.mutate()
                     .request(modifiedRequest)
                     .build();
             
-            logger.debug("Added Authorization header for path: {}", path);
+            logger.debug("Added Authorization and identity headers for path: {}", path);
             return chain.filter(modifiedExchange);
         }
         
@@ -52,14 +69,14 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String existingAuth = request.getHeaders().getFirst(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(existingAuth) && existingAuth.startsWith(BEARER_PREFIX)) {
             logger.debug("Authorization header already exists for path: {}", path);
-            return chain.filter(exchange);
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
         }
         
         // No JWT token found - log for debugging
         logger.warn("No JWT token found for protected path: {}", path);
         
         // Forward as is (Spring Security will handle authorization and reject if needed)
-        return chain.filter(exchange);
+        return chain.filter(exchange.mutate().request(forwarded.build()).build());
     }
     
     private String parseJwt(ServerHttpRequest request) {
@@ -91,8 +108,8 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     private boolean isPublicEndpoint(String path) {
         return path.startsWith("/api/v1.0/auth/") ||
                path.equals("/health") ||
-               path.startsWith("/api/v1.0/flight/admin/internal/") ||
-               path.equals("/api/v1.0/flight/admin/search");
+               path.equals("/api/v1.0/flight/admin/search") ||
+               path.startsWith("/api/v1.0/flight/admin/search/");
     }
 
 
@@ -0,0 +1,127 @@
+package com.saiteja.apigateway.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifies request tokens for the gateway. The secret is decoded and the
+ * parser built once; each token's signature is checked once, after which its
+ * identity is served from a cache keyed by the token's SHA-256 until the
+ * token's own expiry. Rejected tokens and tokens without an expiry are never
+ * cached. The cache holds at most {@code jwt.verification.cache-max-size}
+ * tokens.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+    private final JwtParser parser;
+    private final Clock clock;
+    private final Cache<String, VerifiedJwt> verified;
+
+    public JwtTokenVerifier(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.verification.cache-max-size:10000}") long cacheMaxSize) {
+        this(jwtSecret, cacheMaxSize, Clock.systemUTC());
+    }
+
+    JwtTokenVerifier(String jwtSecret, long cacheMaxSize, Clock clock) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedJwt>() {
+                    @Override
+                    public long expireAfterCreate(String hash, VerifiedJwt jwt, long currentTime) {
+                        return timeLeft(jwt).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, VerifiedJwt jwt, long currentTime, long currentDuration) {
+                        return timeLeft(jwt).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, VerifiedJwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Optional<VerifiedJwt> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String hash = sha256(token);
+        VerifiedJwt cached = verified.getIfPresent(hash);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return Optional.of(cached);
+        }
+
+        VerifiedJwt jwt = parse(token);
+        if (jwt != null && jwt.expiresAt() != null) {
+            verified.put(hash, jwt);
+        }
+        return Optional.ofNullable(jwt);
+    }
+
+    long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private VerifiedJwt parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return new VerifiedJwt(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    claims.get("roles", List.class),
+                    claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Duration timeLeft(VerifiedJwt jwt) {
+        Duration left = Duration.between(clock.instant(), jwt.expiresAt());
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.saiteja.apigateway.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity carried by a token whose signature and expiry have been checked.
+ */
+public record VerifiedJwt(String username, Long userId, List<String> roles, Instant expiresAt) {
+
+    public VerifiedJwt {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
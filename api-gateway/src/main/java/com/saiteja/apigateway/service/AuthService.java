@@ -12,6 +12,7 @@ import com.saiteja.apigateway.model.User;
 import com.saiteja.apigateway.repository.PasswordResetTokenRepository;
 import com.saiteja.apigateway.repository.RoleRepository;
 import com.saiteja.apigateway.repository.UserRepository;
+import com.saiteja.apigateway.security.PasswordHasher;
 import com.saiteja.apigateway.security.jwt.JwtUtils;
 import com.saiteja.apigateway.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,10 +21,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -47,7 +49,7 @@ public class AuthService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private JwtUtils jwtUtils;
@@ -61,52 +63,71 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
     @org.springframework.beans.factory.annotation.Value("${app.frontend.url:http://localhost:4200}")
     private String frontendUrl;
 
     public Mono<MessageResponse> register(SignupRequest signUpRequest) {
-        return Mono.fromCallable(() -> {
-            if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-                return new MessageResponse("Error: Username is already taken!");
-            }
-
-            if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-                return new MessageResponse("Error: Email is already in use!");
-            }
-
-            // Create new user's account
-            User user = new User(signUpRequest.getUsername(),
-                    signUpRequest.getEmail(),
-                    passwordEncoder.encode(signUpRequest.getPassword()));
-
-            Set<String> strRoles = signUpRequest.getRole();
-            Set<Role> roles = new HashSet<>();
-
-            if (strRoles == null || strRoles.isEmpty()) {
-                Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                        .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                roles.add(userRole);
-            } else {
-                strRoles.forEach(role -> {
-                    switch (role.toLowerCase()) {
-                        case "admin":
-                            Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                            roles.add(adminRole);
-                            break;
-                        default:
-                            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                            roles.add(userRole);
+        return userRepository.existsByUsername(signUpRequest.getUsername())
+                .flatMap(usernameTaken -> {
+                    if (usernameTaken) {
+                        return Mono.just(new MessageResponse("Error: Username is already taken!"));
                     }
+                    return userRepository.existsByEmail(signUpRequest.getEmail())
+                            .flatMap(emailTaken -> {
+                                if (emailTaken) {
+                                    return Mono.just(new MessageResponse("Error: Email is already in use!"));
+                                }
+
+                                // Create new user's account
+                                return resolveRoles(signUpRequest.getRole())
+                                        .zipWith(encodePassword(signUpRequest.getPassword()))
+                                        .flatMap(rolesAndPassword -> {
+                                            User user = new User(signUpRequest.getUsername(),
+                                                    signUpRequest.getEmail(),
+                                                    rolesAndPassword.getT2());
+                                            user.setRoles(rolesAndPassword.getT1());
+                                            return userRepository.save(user).as(transactionalOperator::transactional);
+                                        })
+                                        .thenReturn(new MessageResponse("User registered successfully!"));
+                            });
                 });
-            }
+    }
 
-            user.setRoles(roles);
-            userRepository.save(user);
+    private Mono<Set<Role>> resolveRoles(Set<String> strRoles) {
+        Set<ERole> names = new HashSet<>();
+        if (strRoles == null || strRoles.isEmpty()) {
+            names.add(ERole.ROLE_USER);
+        } else {
+            strRoles.forEach(role -> {
+                switch (role.toLowerCase()) {
+                    case "admin":
+                        names.add(ERole.ROLE_ADMIN);
+                        break;
+                    default:
+                        names.add(ERole.ROLE_USER);
+                }
+            });
+        }
+        return Flux.fromIterable(names)
+                .concatMap(this::findRole)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
 
-            return new MessageResponse("User registered successfully!");
-        }).subscribeOn(Schedulers.boundedElastic());
+    private Mono<Role> findRole(ERole name) {
+        return roleRepository.findByName(name)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Error: Role is not found.")));
+    }
+
+    // BCrypt is CPU-bound and runs on its own bounded pool
+    private Mono<String> encodePassword(String rawPassword) {
+        return passwordHasher.encode(rawPassword);
+    }
+
+    private Mono<Boolean> passwordMatches(String rawPassword, String encodedPassword) {
+        return passwordHasher.matches(rawPassword, encodedPassword);
     }
 
     public Mono<JwtResponse> authenticate(LoginRequest loginRequest) {
@@ -142,82 +163,88 @@ public class AuthService {
                     }
 
                     String finalUsername = username;
-                    return Mono.fromCallable(() -> {
-                                User user = userRepository.findByUsername(finalUsername)
-                                        .orElseThrow(() -> new RuntimeException("User not found"));
-
-                                if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
-                                    throw new RuntimeException("Current password is incorrect");
-                                }
+                    return userRepository.findByUsername(finalUsername)
+                            .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+                            .flatMap(user -> passwordMatches(request.getCurrentPassword(), user.getPassword())
+                                    .flatMap(currentMatches -> {
+                                        if (!currentMatches) {
+                                            return Mono.<Boolean>error(new RuntimeException("Current password is incorrect"));
+                                        }
+                                        return passwordMatches(request.getNewPassword(), user.getPassword());
+                                    })
+                                    .flatMap(sameAsCurrent -> {
+                                        if (sameAsCurrent) {
+                                            return Mono.<String>error(new RuntimeException("New password must be different from current password"));
+                                        }
+                                        return encodePassword(request.getNewPassword());
+                                    })
+                                    .flatMap(encodedPassword -> {
+                                        user.setPassword(encodedPassword);
+                                        return userRepository.save(user);
+                                    }))
+                            .thenReturn(new MessageResponse("Password updated successfully"));
+                });
+    }
 
-                                if (passwordEncoder.matches(request.getNewPassword(), user.getPassword())) {
-                                    throw new RuntimeException("New password must be different from current password");
-                                }
+    public Mono<JwtResponse> processOAuth2User(String email, String name, String provider, String providerId) {
+        // Check if user exists by email
+        return userRepository.findByEmail(email)
+                .flatMap(user -> linkOAuth2Provider(user, provider, providerId))
+                .switchIfEmpty(Mono.defer(() -> createOAuth2User(email, name, provider, providerId)))
+                .map(user -> {
+                    // Generate JWT token
+                    UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+                    String jwt = jwtUtils.generateTokenFromUserDetails(userDetails);
+                    List<String> roles = userDetails.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .collect(Collectors.toList());
 
-                                user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-                                userRepository.save(user);
+                    return new JwtResponse(jwt,
+                            userDetails.getId(),
+                            userDetails.getUsername(),
+                            userDetails.getEmail(),
+                            roles);
+                });
+    }
 
-                                return new MessageResponse("Password updated successfully");
-                            })
-                            .subscribeOn(Schedulers.boundedElastic());
+    private Mono<User> createOAuth2User(String email, String name, String provider, String providerId) {
+        String baseUsername = generateUsernameFromName(name, email);
+
+        // Generate a secure dummy password for OAuth users
+        return uniqueUsername(baseUsername, baseUsername, 1)
+                .zipWith(encodePassword(generateSecureDummyPassword()))
+                .zipWith(findRole(ERole.ROLE_USER))
+                .flatMap(userAndRole -> {
+                    User user = new User(userAndRole.getT1().getT1(), email, userAndRole.getT1().getT2(), provider, providerId);
+                    // Assign default role
+                    user.setRoles(new HashSet<>(Set.of(userAndRole.getT2())));
+                    return userRepository.save(user).as(transactionalOperator::transactional);
                 });
     }
 
-    public Mono<JwtResponse> processOAuth2User(String email, String name, String provider, String providerId) {
-        return Mono.fromCallable(() -> {
-            // Check if user exists by email
-            User user = userRepository.findByEmail(email).orElse(null);
-            
-            if (user == null) {
-                // Create new OAuth2 user
-                String username = generateUsernameFromName(name, email);
-                // Ensure username is unique
-                int counter = 1;
-                String baseUsername = username;
-                while (userRepository.existsByUsername(username)) {
-                    username = baseUsername + counter;
-                    counter++;
-                }
-                
-                // Generate a secure dummy password for OAuth users
-                String dummyPassword = generateSecureDummyPassword();
-                String encodedPassword = passwordEncoder.encode(dummyPassword);
-                
-                user = new User(username, email, encodedPassword, provider, providerId);
-                
-                // Assign default role
-                Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                        .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                user.setRoles(Set.of(userRole));
-                
-                user = userRepository.save(user);
-            } else {
-                // Update existing user with OAuth2 provider info if not set
-                if (user.getProvider() == null || user.getProvider().isEmpty()) {
-                    user.setProvider(provider);
-                    user.setProviderId(providerId);
-                    // If password is null or empty, generate a dummy password
-                    if (user.getPassword() == null || user.getPassword().isEmpty()) {
-                        String dummyPassword = generateSecureDummyPassword();
-                        user.setPassword(passwordEncoder.encode(dummyPassword));
-                    }
-                    user = userRepository.save(user);
-                }
-            }
-            
-            // Generate JWT token
-            UserDetailsImpl userDetails = UserDetailsImpl.build(user);
-            String jwt = jwtUtils.generateTokenFromUserDetails(userDetails);
-            List<String> roles = userDetails.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toList());
-            
-            return new JwtResponse(jwt,
-                    userDetails.getId(),
-                    userDetails.getUsername(),
-                    userDetails.getEmail(),
-                    roles);
-        }).subscribeOn(Schedulers.boundedElastic());
+    // Ensure username is unique by appending a counter
+    private Mono<String> uniqueUsername(String baseUsername, String username, int counter) {
+        return userRepository.existsByUsername(username)
+                .flatMap(taken -> taken
+                        ? uniqueUsername(baseUsername, baseUsername + counter, counter + 1)
+                        : Mono.just(username));
+    }
+
+    // Update existing user with OAuth2 provider info if not set
+    private Mono<User> linkOAuth2Provider(User user, String provider, String providerId) {
+        if (user.getProvider() != null && !user.getProvider().isEmpty()) {
+            return Mono.just(user);
+        }
+        user.setProvider(provider);
+        user.setProviderId(providerId);
+        // If password is null or empty, generate a dummy password
+        Mono<String> password = user.getPassword() == null || user.getPassword().isEmpty()
+                ? encodePassword(generateSecureDummyPassword())
+                : Mono.just(user.getPassword());
+        return password.flatMap(encodedPassword -> {
+            user.setPassword(encodedPassword);
+            return userRepository.save(user);
+        });
     }
 
     private String generateUsernameFromName(String name, String email) {
@@ -275,77 +302,73 @@ public class AuthService {
     }
 
     public Mono<MessageResponse> processForgotPassword(String email) {
-        return Mono.fromCallable(() -> {
-            // Find user by email
-            User user = userRepository.findByEmail(email).orElse(null);
-
-            // Check if user exists
-            if (user == null) {
-                return new MessageResponse("No account found with this email address.");
-            }
-
-            // Check if user is a local user (not OAuth)
-            if (user.getProvider() != null && !"local".equals(user.getProvider())) {
-                return new MessageResponse("Password reset is not available for accounts signed in with Google. Please use Google Sign-In.");
-            }
+        // Find user by email
+        return userRepository.findByEmail(email)
+                .flatMap(user -> {
+                    // Check if user is a local user (not OAuth)
+                    if (user.getProvider() != null && !"local".equals(user.getProvider())) {
+                        return Mono.just(new MessageResponse("Password reset is not available for accounts signed in with Google. Please use Google Sign-In."));
+                    }
 
-            // Invalidate existing tokens for this user
-            passwordResetTokenRepository.findByUser(user).ifPresent(existingToken -> {
-                passwordResetTokenRepository.deleteByUser(user);
-            });
+                    // Generate secure random token with 1 hour expiration
+                    String token = UUID.randomUUID().toString();
+                    LocalDateTime expiryDate = LocalDateTime.now().plusHours(1);
+                    PasswordResetToken resetToken = new PasswordResetToken(token, user, expiryDate);
+
+                    // Invalidate existing tokens for this user
+                    return passwordResetTokenRepository.deleteByUser(user)
+                            .then(passwordResetTokenRepository.save(resetToken))
+                            .as(transactionalOperator::transactional)
+                            .flatMap(savedToken -> sendPasswordResetEmail(email, token)
+                                    .thenReturn(new MessageResponse("Password reset link has been sent to your email address. Please check your inbox."))
+                                    .onErrorResume(e -> {
+                                        // Log error but don't expose details to user
+                                        logger.error("Failed to send password reset email to {}: {}", email, e.getMessage(), e);
+                                        // Delete the token since email failed
+                                        return passwordResetTokenRepository.delete(savedToken)
+                                                .then(Mono.error(new RuntimeException("Failed to send password reset email. Please try again later.")));
+                                    }));
+                })
+                // Check if user exists
+                .defaultIfEmpty(new MessageResponse("No account found with this email address."));
+    }
 
-            // Generate secure random token
-            String token = UUID.randomUUID().toString();
-
-            // Create token with 1 hour expiration
-            LocalDateTime expiryDate = LocalDateTime.now().plusHours(1);
-            PasswordResetToken resetToken = new PasswordResetToken(token, user, expiryDate);
-            passwordResetTokenRepository.save(resetToken);
-
-            // Send email with reset link
-            String resetUrl = frontendUrl + "/reset-password";
-            try {
-                emailService.sendPasswordResetEmail(email, token, resetUrl);
-                return new MessageResponse("Password reset link has been sent to your email address. Please check your inbox.");
-            } catch (Exception e) {
-                // Log error but don't expose details to user
-                logger.error("Failed to send password reset email to {}: {}", email, e.getMessage(), e);
-                // Delete the token since email failed
-                passwordResetTokenRepository.delete(resetToken);
-                throw new RuntimeException("Failed to send password reset email. Please try again later.");
-            }
-        }).subscribeOn(Schedulers.boundedElastic());
+    // The email client blocks on HTTP
+    private Mono<Void> sendPasswordResetEmail(String email, String token) {
+        String resetUrl = frontendUrl + "/reset-password";
+        return Mono.<Void>fromRunnable(() -> emailService.sendPasswordResetEmail(email, token, resetUrl))
+                .subscribeOn(Schedulers.boundedElastic());
     }
 
     public Mono<MessageResponse> resetPassword(String token, String newPassword) {
-        return Mono.fromCallable(() -> {
-            // Find token in database
-            PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
-
-            // Check if token is expired
-            if (resetToken.isExpired()) {
-                passwordResetTokenRepository.delete(resetToken);
-                throw new RuntimeException("Reset token has expired. Please request a new password reset.");
-            }
-
-            // Get associated user
-            User user = resetToken.getUser();
-
-            // Validate new password is different from old password
-            if (passwordEncoder.matches(newPassword, user.getPassword())) {
-                throw new RuntimeException("New password must be different from your current password");
-            }
-
-            // Update password
-            user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
-
-            // Delete token (one-time use)
-            passwordResetTokenRepository.delete(resetToken);
+        // Find token in database
+        return passwordResetTokenRepository.findByToken(token)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Invalid or expired reset token")))
+                .flatMap(resetToken -> {
+                    // Check if token is expired
+                    if (resetToken.isExpired()) {
+                        return passwordResetTokenRepository.delete(resetToken)
+                                .then(Mono.<MessageResponse>error(new RuntimeException("Reset token has expired. Please request a new password reset.")));
+                    }
 
-            return new MessageResponse("Password has been reset successfully. You can now login with your new password.");
-        }).subscribeOn(Schedulers.boundedElastic());
+                    // Validate new password is different from old password
+                    User user = resetToken.getUser();
+                    return passwordMatches(newPassword, user.getPassword())
+                            .flatMap(sameAsCurrent -> {
+                                if (sameAsCurrent) {
+                                    return Mono.<String>error(new RuntimeException("New password must be different from your current password"));
+                                }
+                                return encodePassword(newPassword);
+                            })
+                            .flatMap(encodedPassword -> {
+                                // Update password and delete token (one-time use)
+                                user.setPassword(encodedPassword);
+                                return userRepository.save(user)
+                                        .then(passwordResetTokenRepository.delete(resetToken))
+                                        .as(transactionalOperator::transactional);
+                            })
+                            .thenReturn(new MessageResponse("Password has been reset successfully. You can now login with your new password."));
+                });
     }
 }
 
@@ -5,29 +5,26 @@ import com.saiteja.apigateway.model.Role;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataR2dbcTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///roles;DB_CLOSE_DELAY=-1")
+@Import(RoleRepository.class)
 class RoleRepositoryTest {
 
-    @Autowired
-    private TestEntityManager entityManager;
-
     @Autowired
     private RoleRepository roleRepository;
 
     @Test
     @DisplayName("findByName returns persisted role")
     void findByNameReturnsRole() {
-        Role adminRole = new Role(null, ERole.ROLE_ADMIN);
-        entityManager.persist(adminRole);
-        entityManager.flush();
+        roleRepository.save(new Role(null, ERole.ROLE_ADMIN)).block();
 
-        Role found = roleRepository.findByName(ERole.ROLE_ADMIN).orElseThrow();
-        assertThat(found.getName()).isEqualTo(ERole.ROLE_ADMIN);
+        StepVerifier.create(roleRepository.findByName(ERole.ROLE_ADMIN))
+                .assertNext(found -> assertThat(found.getName()).isEqualTo(ERole.ROLE_ADMIN))
+                .verifyComplete();
     }
 }
-
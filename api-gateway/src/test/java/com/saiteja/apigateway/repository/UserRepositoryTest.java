@@ -1,58 +1,80 @@
 package com.saiteja.apigateway.repository;
 
 import com.saiteja.apigateway.model.ERole;
+import com.saiteja.apigateway.model.PasswordResetToken;
 import com.saiteja.apigateway.model.Role;
 import com.saiteja.apigateway.model.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataR2dbcTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///users;DB_CLOSE_DELAY=-1")
+@Import({UserRepository.class, RoleRepository.class, PasswordResetTokenRepository.class})
 class UserRepositoryTest {
 
-    @Autowired
-    private TestEntityManager entityManager;
-
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
     @Test
     @DisplayName("existsByUsername and existsByEmail reflect persisted user")
     void existsChecksWork() {
-        Role roleUser = roleRepository.save(new Role(null, ERole.ROLE_USER));
+        Role roleUser = roleRepository.save(new Role(null, ERole.ROLE_USER)).block();
 
         User user = new User("alice", "alice@example.com", "pass123");
         user.setRoles(Set.of(roleUser));
-        entityManager.persist(user);
-        entityManager.flush();
+        userRepository.save(user).block();
 
-        assertThat(userRepository.existsByUsername("alice")).isTrue();
-        assertThat(userRepository.existsByEmail("alice@example.com")).isTrue();
-        assertThat(userRepository.existsByUsername("bob")).isFalse();
-        assertThat(userRepository.existsByEmail("bob@example.com")).isFalse();
+        assertThat(userRepository.existsByUsername("alice").block()).isTrue();
+        assertThat(userRepository.existsByEmail("alice@example.com").block()).isTrue();
+        assertThat(userRepository.existsByUsername("bob").block()).isFalse();
+        assertThat(userRepository.existsByEmail("bob@example.com").block()).isFalse();
     }
 
     @Test
     @DisplayName("findByUsername returns matching user with roles")
     void findByUsernameReturnsUser() {
-        Role roleUser = roleRepository.save(new Role(null, ERole.ROLE_USER));
+        Role roleUser = roleRepository.save(new Role(null, ERole.ROLE_USER)).block();
+        Role roleAdmin = roleRepository.save(new Role(null, ERole.ROLE_ADMIN)).block();
         User user = new User("bob", "bob@example.com", "pass123");
-        user.setRoles(Set.of(roleUser));
-        entityManager.persist(user);
-        entityManager.flush();
+        user.setRoles(Set.of(roleUser, roleAdmin));
+        userRepository.save(user).block();
 
-        User fetched = userRepository.findByUsername("bob").orElseThrow();
+        User fetched = userRepository.findByUsername("bob").block();
         assertThat(fetched.getUsername()).isEqualTo("bob");
-        assertThat(fetched.getRoles()).containsExactly(roleUser);
+        assertThat(fetched.getProvider()).isEqualTo("local");
+        assertThat(fetched.getRoles()).containsExactlyInAnyOrder(roleUser, roleAdmin);
+        assertThat(userRepository.findByEmail("missing@example.com").block()).isNull();
     }
-}
 
+    @Test
+    @DisplayName("save updates an existing user and reset tokens load with their user")
+    void saveUpdatesAndResetTokensLoadUser() {
+        User user = userRepository.save(new User("carol", "carol@example.com", "old")).block();
+        user.setPassword("new");
+        userRepository.save(user).block();
+
+        PasswordResetToken token = passwordResetTokenRepository
+                .save(new PasswordResetToken("reset-1", user, LocalDateTime.now().plusHours(1))).block();
+
+        PasswordResetToken fetched = passwordResetTokenRepository.findByToken("reset-1").block();
+        assertThat(fetched.getId()).isEqualTo(token.getId());
+        assertThat(fetched.getUser().getUsername()).isEqualTo("carol");
+        assertThat(fetched.getUser().getPassword()).isEqualTo("new");
+
+        passwordResetTokenRepository.deleteByUser(user).block();
+        assertThat(passwordResetTokenRepository.findByToken("reset-1").block()).isNull();
+    }
+}
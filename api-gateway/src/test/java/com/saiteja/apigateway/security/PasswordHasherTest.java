@@ -0,0 +1,90 @@
+package com.saiteja.apigateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(new BlockingEncoder(), meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("encode and matches: run on the hashing pool and are timed")
+    void hashesOnDedicatedPool() {
+        release.countDown();
+
+        StepVerifier.create(hasher.encode("secret"))
+                .assertNext(encoded -> assertThat(encoded).isEqualTo("hashed:secret@password-hashing-1"))
+                .verifyComplete();
+        StepVerifier.create(hasher.matches("secret", "hashed:secret"))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("encode: rejects at once when the queue is full")
+    void rejectsWhenQueueIsFull() {
+        // One hash running, one queued
+        hasher.encode("running").subscribe();
+        hasher.encode("queued").subscribe();
+
+        StepVerifier.create(hasher.encode("rejected"))
+                .expectError(RejectedExecutionException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.depth").gauge().value()).isEqualTo(1);
+    }
+
+    // Holds every hash until the test releases it
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword + "@" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
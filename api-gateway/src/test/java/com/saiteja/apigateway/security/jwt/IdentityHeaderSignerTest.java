@@ -0,0 +1,48 @@
+package com.saiteja.apigateway.security.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityHeaderSignerTest {
+
+    private static final String SECRET = "identity-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final IdentityHeaderSigner signer = new IdentityHeaderSigner(SECRET, 60, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("sign: encodes expiry, user id, roles and username with an HMAC")
+    void signEncodesIdentity() throws Exception {
+        String header = signer.sign(new VerifiedJwt("alice", 42L, List.of("ROLE_USER", "ROLE_ADMIN"), NOW.plusSeconds(3600)));
+
+        String[] parts = header.split("\\.");
+        assertThat(parts).hasSize(2);
+        assertThat(new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8))
+                .isEqualTo((NOW.getEpochSecond() + 60) + "|42|ROLE_USER,ROLE_ADMIN|alice");
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        assertThat(Base64.getUrlDecoder().decode(parts[1]))
+                .isEqualTo(mac.doFinal(parts[0].getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("sign: never outlives the token")
+    void signCapsExpiryAtTokenExpiry() {
+        String header = signer.sign(new VerifiedJwt("alice", null, List.of(), NOW.plusSeconds(10)));
+
+        String payload = new String(Base64.getUrlDecoder().decode(header.split("\\.")[0]), StandardCharsets.UTF_8);
+        assertThat(payload).isEqualTo((NOW.getEpochSecond() + 10) + "|||alice");
+    }
+}
@@ -6,7 +6,6 @@ import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -15,27 +14,25 @@ import reactor.test.StepVerifier;
 
 import java.security.Key;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 
 class JwtAuthenticationConverterTest {
 
     private JwtAuthenticationConverter converter;
-    private JwtUtils jwtUtils;
     private Key signingKey;
     private String token;
 
     @BeforeEach
     void setUp() {
-        jwtUtils = Mockito.mock(JwtUtils.class);
+        signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         converter = new JwtAuthenticationConverter();
-        ReflectionTestUtils.setField(converter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(converter, "jwtTokenVerifier",
+                new JwtTokenVerifier(Base64.getEncoder().encodeToString(signingKey.getEncoded()), 100));
 
-        signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         token = Jwts.builder()
                 .setSubject("alice")
                 .claim("roles", List.of("ROLE_USER"))
@@ -48,10 +45,6 @@ class JwtAuthenticationConverterTest {
     @Test
     @DisplayName("convert: returns Authentication on valid token")
     void convertReturnsAuthentication() {
-        when(jwtUtils.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn("alice");
-        when(jwtUtils.getSigningKey()).thenReturn(signingKey);
-
         MockServerHttpRequest request = MockServerHttpRequest.get("/test")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                 .build();
@@ -69,8 +62,6 @@ class JwtAuthenticationConverterTest {
     @Test
     @DisplayName("convert: returns empty when token invalid")
     void convertReturnsEmptyWhenInvalid() {
-        when(jwtUtils.validateJwtToken(any())).thenReturn(false);
-
         MockServerHttpRequest request = MockServerHttpRequest.get("/test")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer invalid")
                 .build();
@@ -0,0 +1,121 @@
+package com.saiteja.apigateway.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenVerifierTest {
+
+    private Key signingKey;
+    private MutableClock clock;
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        verifier = new JwtTokenVerifier(Base64.getEncoder().encodeToString(signingKey.getEncoded()), 100, clock);
+    }
+
+    @Test
+    @DisplayName("verify: returns the token's identity")
+    void verifyReturnsIdentity() {
+        String token = token(signingKey, Duration.ofHours(1));
+
+        assertThat(verifier.verify(token)).hasValueSatisfying(jwt -> {
+            assertThat(jwt.username()).isEqualTo("alice");
+            assertThat(jwt.userId()).isEqualTo(42L);
+            assertThat(jwt.roles()).containsExactly("ROLE_USER");
+            assertThat(jwt.expiresAt()).isEqualTo(clock.instant().plus(Duration.ofHours(1)));
+        });
+        assertThat(verifier.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("verify: serves a repeated token from the cache")
+    void verifyServesRepeatedTokenFromCache() {
+        String token = token(signingKey, Duration.ofHours(1));
+
+        VerifiedJwt first = verifier.verify(token).orElseThrow();
+        VerifiedJwt second = verifier.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifier.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("verify: stops accepting a cached token once it expires")
+    void verifyRejectsCachedTokenAfterExpiry() {
+        String token = token(signingKey, Duration.ofMinutes(5));
+        assertThat(verifier.verify(token)).isPresent();
+
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThat(verifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify: rejects and does not cache bad tokens")
+    void verifyRejectsBadTokens() {
+        String foreign = token(Keys.secretKeyFor(SignatureAlgorithm.HS256), Duration.ofHours(1));
+
+        assertThat(verifier.verify(foreign)).isEmpty();
+        assertThat(verifier.verify("not-a-jwt")).isEmpty();
+        assertThat(verifier.verify(token(signingKey, Duration.ofMinutes(-1)))).isEmpty();
+        assertThat(verifier.verify("")).isEmpty();
+        assertThat(verifier.cachedTokens()).isZero();
+    }
+
+    private String token(Key key, Duration validFor) {
+        Instant now = clock.instant();
+        return Jwts.builder()
+                .setSubject("alice")
+                .claim("userId", 42)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(validFor)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
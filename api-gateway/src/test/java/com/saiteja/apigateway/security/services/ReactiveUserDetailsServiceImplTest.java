@@ -14,7 +14,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,7 +36,7 @@ class ReactiveUserDetailsServiceImplTest {
         user.setId(5L);
         user.setRoles(Set.of(new Role(1, ERole.ROLE_USER)));
 
-        when(userRepository.findByUsername(eq("alice"))).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername(eq("alice"))).thenReturn(Mono.just(user));
 
         Mono<? extends org.springframework.security.core.userdetails.UserDetails> result = service.findByUsername("alice");
 
@@ -52,7 +51,7 @@ class ReactiveUserDetailsServiceImplTest {
     @Test
     @DisplayName("findByUsername errors when user not found")
     void findByUsernameNotFound() {
-        when(userRepository.findByUsername(eq("missing"))).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(eq("missing"))).thenReturn(Mono.empty());
 
         StepVerifier.create(service.findByUsername("missing"))
                 .expectError(UsernameNotFoundException.class)
@@ -9,6 +9,7 @@ import com.saiteja.apigateway.model.Role;
 import com.saiteja.apigateway.model.User;
 import com.saiteja.apigateway.repository.RoleRepository;
 import com.saiteja.apigateway.repository.UserRepository;
+import com.saiteja.apigateway.security.PasswordHasher;
 import com.saiteja.apigateway.security.jwt.JwtUtils;
 import com.saiteja.apigateway.security.services.UserDetailsImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,13 +24,12 @@ import org.springframework.security.authentication.ReactiveAuthenticationManager
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,11 +44,13 @@ class AuthServiceTest {
     @Mock
     private RoleRepository roleRepository;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @Mock
     private JwtUtils jwtUtils;
     @Mock
     private ReactiveAuthenticationManager authenticationManager;
+    @Mock
+    private TransactionalOperator transactionalOperator;
 
     @InjectMocks
     private AuthService authService;
@@ -60,6 +62,7 @@ class AuthServiceTest {
     void setUp() {
         roleUser = new Role(1, ERole.ROLE_USER);
         roleAdmin = new Role(2, ERole.ROLE_ADMIN);
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
     }
 
     @Test
@@ -70,14 +73,14 @@ class AuthServiceTest {
         request.setEmail("alice@example.com");
         request.setPassword("secret");
 
-        when(userRepository.existsByUsername("alice")).thenReturn(false);
-        when(userRepository.existsByEmail("alice@example.com")).thenReturn(false);
-        when(roleRepository.findByName(ERole.ROLE_USER)).thenReturn(Optional.of(roleUser));
-        when(passwordEncoder.encode("secret")).thenReturn("encoded");
+        when(userRepository.existsByUsername("alice")).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail("alice@example.com")).thenReturn(Mono.just(false));
+        when(roleRepository.findByName(ERole.ROLE_USER)).thenReturn(Mono.just(roleUser));
+        when(passwordHasher.encode("secret")).thenReturn(Mono.just("encoded"));
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
             u.setId(10L);
-            return u;
+            return Mono.just(u);
         });
 
         Mono<MessageResponse> result = authService.register(request);
@@ -99,7 +102,7 @@ class AuthServiceTest {
         request.setEmail("alice@example.com");
         request.setPassword("secret");
 
-        when(userRepository.existsByUsername("alice")).thenReturn(true);
+        when(userRepository.existsByUsername("alice")).thenReturn(Mono.just(true));
 
         StepVerifier.create(authService.register(request))
                 .assertNext(res -> assertThat(res.getMessage()).isEqualTo("Error: Username is already taken!"))
@@ -116,8 +119,8 @@ class AuthServiceTest {
         request.setEmail("alice@example.com");
         request.setPassword("secret");
 
-        when(userRepository.existsByUsername("alice")).thenReturn(false);
-        when(userRepository.existsByEmail("alice@example.com")).thenReturn(true);
+        when(userRepository.existsByUsername("alice")).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail("alice@example.com")).thenReturn(Mono.just(true));
 
         StepVerifier.create(authService.register(request))
                 .assertNext(res -> assertThat(res.getMessage()).isEqualTo("Error: Email is already in use!"))
@@ -135,11 +138,11 @@ class AuthServiceTest {
         request.setPassword("secret");
         request.setRole(new HashSet<>(Set.of("admin")));
 
-        when(userRepository.existsByUsername("admin")).thenReturn(false);
-        when(userRepository.existsByEmail("admin@example.com")).thenReturn(false);
-        when(roleRepository.findByName(ERole.ROLE_ADMIN)).thenReturn(Optional.of(roleAdmin));
-        when(passwordEncoder.encode("secret")).thenReturn("encoded");
-        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.existsByUsername("admin")).thenReturn(Mono.just(false));
+        when(userRepository.existsByEmail("admin@example.com")).thenReturn(Mono.just(false));
+        when(roleRepository.findByName(ERole.ROLE_ADMIN)).thenReturn(Mono.just(roleAdmin));
+        when(passwordHasher.encode("secret")).thenReturn(Mono.just("encoded"));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
 
         StepVerifier.create(authService.register(request))
                 .assertNext(res -> assertThat(res.getMessage()).isEqualTo("User registered successfully!"))
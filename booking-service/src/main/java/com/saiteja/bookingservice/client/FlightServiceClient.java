@@ -1,20 +1,26 @@
 package com.saiteja.bookingservice.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saiteja.bookingservice.dto.hold.BatchHoldResult;
+import com.saiteja.bookingservice.dto.hold.SeatHoldResponse;
 import com.saiteja.bookingservice.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
@@ -25,23 +31,25 @@ public class FlightServiceClient {
     private final ObjectMapper objectMapper;
     private static final String FLIGHT_SERVICE_URL = "http://flight-service";
 
-    public void lockSeats(String scheduleId, List<String> seatNumbers) {
+    // Flight-service frees the seats once per releaseKey, so the call can be repeated
+    public void releaseSeats(String scheduleId, List<String> seatNumbers, String releaseKey) {
         try {
-            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/lock-seats";
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/release-seats?releaseKey={releaseKey}";
             restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     new HttpEntity<>(seatNumbers),
                     Void.class,
-                    scheduleId
+                    scheduleId,
+                    releaseKey
             );
-            log.info("Successfully locked seats for schedule: {}", scheduleId);
+            log.info("Successfully released seats for schedule: {}", scheduleId);
         } catch (HttpClientErrorException e) {
-            log.error("Client error while locking seats for schedule {}: {}", scheduleId, e.getMessage());
+            log.error("Client error while releasing seats for schedule {}: {}", scheduleId, e.getMessage());
             String errorMessage = extractErrorMessage(e.getResponseBodyAsString());
             throw new BadRequestException(errorMessage);
         } catch (HttpServerErrorException e) {
-            log.error("Server error while locking seats for schedule {}: {}", scheduleId, e.getMessage());
+            log.error("Server error while releasing seats for schedule {}: {}", scheduleId, e.getMessage());
             String errorMessage = extractErrorMessage(e.getResponseBodyAsString());
             throw new BadRequestException(errorMessage);
         } catch (RestClientException e) {
@@ -54,33 +62,107 @@ public class FlightServiceClient {
         }
     }
 
-    public void releaseSeats(String scheduleId, List<String> seatNumbers) {
+    public SeatHoldResponse holdSeats(String scheduleId, List<String> seatNumbers) {
         try {
-            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/release-seats";
-            restTemplate.exchange(
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/hold-seats";
+            SeatHoldResponse hold = restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     new HttpEntity<>(seatNumbers),
-                    Void.class,
+                    SeatHoldResponse.class,
                     scheduleId
-            );
-            log.info("Successfully released seats for schedule: {}", scheduleId);
-        } catch (HttpClientErrorException e) {
-            log.error("Client error while releasing seats for schedule {}: {}", scheduleId, e.getMessage());
-            String errorMessage = extractErrorMessage(e.getResponseBodyAsString());
-            throw new BadRequestException(errorMessage);
-        } catch (HttpServerErrorException e) {
-            log.error("Server error while releasing seats for schedule {}: {}", scheduleId, e.getMessage());
-            String errorMessage = extractErrorMessage(e.getResponseBodyAsString());
-            throw new BadRequestException(errorMessage);
+            ).getBody();
+            if (hold == null || hold.getHoldId() == null) {
+                throw new BadRequestException("Flight service did not return a seat hold for schedule " + scheduleId);
+            }
+            log.info("Held seats for schedule {} under hold {} until {}", scheduleId, hold.getHoldId(), hold.getExpiresAt());
+            return hold;
         } catch (RestClientException e) {
-            log.error("Failed to connect to flight-service for schedule {}: {}", scheduleId, e.getMessage());
-            String errorMsg = e.getMessage();
-            if (errorMsg != null && errorMsg.contains("No instances available")) {
-                throw new BadRequestException("Flight service is not available. Please ensure flight-service is running and registered with Eureka.");
+            throw translate(e, "holding seats for schedule", scheduleId);
+        }
+    }
+
+    // One round trip for all seat groups of a schedule; each group is held or rejected on its own
+    public List<BatchHoldResult> holdSeatsBatch(String scheduleId, List<List<String>> seatGroups) {
+        try {
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/hold-seats/batch";
+            List<BatchHoldResult> results = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(seatGroups),
+                    new ParameterizedTypeReference<List<BatchHoldResult>>() {},
+                    scheduleId
+            ).getBody();
+            if (results == null || results.size() != seatGroups.size()) {
+                throw new BadRequestException("Flight service returned an incomplete batch hold for schedule " + scheduleId);
             }
-            throw new BadRequestException("Failed to connect to flight service: " + errorMsg + ". Please ensure flight-service is running and registered with Eureka.");
+            log.info("Batch hold of {} seat groups for schedule {}", seatGroups.size(), scheduleId);
+            return results;
+        } catch (RestClientException e) {
+            throw translate(e, "holding seat groups for schedule", scheduleId);
+        }
+    }
+
+    // One round trip for all holds of a schedule; each hold is confirmed or rejected on its own
+    public List<BatchHoldResult> confirmHoldsBatch(String scheduleId, List<String> holdIds) {
+        try {
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/schedules/{id}/confirm-holds/batch";
+            List<BatchHoldResult> results = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(holdIds),
+                    new ParameterizedTypeReference<List<BatchHoldResult>>() {},
+                    scheduleId
+            ).getBody();
+            if (results == null || results.size() != holdIds.size()) {
+                throw new BadRequestException("Flight service returned an incomplete batch confirm for schedule " + scheduleId);
+            }
+            log.info("Batch confirm of {} seat holds for schedule {}", holdIds.size(), scheduleId);
+            return results;
+        } catch (RestClientException e) {
+            throw translate(e, "confirming seat holds for schedule", scheduleId);
+        }
+    }
+
+    public void confirmHold(String holdId) {
+        try {
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/holds/{holdId}/confirm";
+            restTemplate.exchange(url, HttpMethod.POST, HttpEntity.EMPTY, Void.class, holdId);
+            log.info("Confirmed seat hold: {}", holdId);
+        } catch (RestClientException e) {
+            throw translate(e, "confirming seat hold", holdId);
+        }
+    }
+
+    public void releaseHold(String holdId) {
+        try {
+            String url = FLIGHT_SERVICE_URL + "/api/v1.0/flight/admin/internal/holds/{holdId}/release";
+            restTemplate.exchange(url, HttpMethod.POST, HttpEntity.EMPTY, Void.class, holdId);
+            log.info("Released seat hold: {}", holdId);
+        } catch (RestClientException e) {
+            throw translate(e, "releasing seat hold", holdId);
+        }
+    }
+
+    // Runs the same pooled call on the application task executor (a virtual thread per call
+    // when spring.threads.virtual.enabled is set) so the caller is not blocked
+    @Async
+    public CompletableFuture<Void> releaseHoldAsync(String holdId) {
+        releaseHold(holdId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private BadRequestException translate(RestClientException e, String action, String id) {
+        if (e instanceof RestClientResponseException responseException) {
+            log.error("Error while {} {}: {}", action, id, e.getMessage());
+            return new BadRequestException(extractErrorMessage(responseException.getResponseBodyAsString()));
+        }
+        log.error("Failed to connect to flight-service while {} {}: {}", action, id, e.getMessage());
+        String errorMsg = e.getMessage();
+        if (errorMsg != null && errorMsg.contains("No instances available")) {
+            return new BadRequestException("Flight service is not available. Please ensure flight-service is running and registered with Eureka.");
         }
+        return new BadRequestException("Failed to connect to flight service: " + errorMsg + ". Please ensure flight-service is running and registered with Eureka.");
     }
 
     private String extractErrorMessage(String errorResponseBody) {
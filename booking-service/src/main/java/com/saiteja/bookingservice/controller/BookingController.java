@@ -2,17 +2,25 @@ package com.saiteja.bookingservice.controller;
 
 import com.saiteja.bookingservice.dto.ApiResponse;
 import com.saiteja.bookingservice.dto.booking.BookingCreateRequest;
+import com.saiteja.bookingservice.dto.booking.BookingPageResponse;
 import com.saiteja.bookingservice.dto.booking.BookingResponse;
+import com.saiteja.bookingservice.dto.booking.BulkBookingRequest;
+import com.saiteja.bookingservice.dto.booking.BulkBookingResponse;
 import com.saiteja.bookingservice.exception.BadRequestException;
-import com.saiteja.bookingservice.security.JwtUtils;
+import com.saiteja.bookingservice.model.enums.BookingStatus;
+import com.saiteja.bookingservice.security.AuthenticatedUser;
 import com.saiteja.bookingservice.service.BookingService;
+import com.saiteja.bookingservice.service.impl.BookingNdjsonExporter;
+import com.saiteja.bookingservice.service.impl.IdempotentBookingCreator;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,7 +30,8 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
-    private final JwtUtils jwtUtils;
+    private final BookingNdjsonExporter bookingNdjsonExporter;
+    private final IdempotentBookingCreator idempotentBookingCreator;
 
     @GetMapping("/health")
     public String healthCheck(){
@@ -33,14 +42,29 @@ public class BookingController {
     public ResponseEntity<String> bookFlight(
             @PathVariable String scheduleId,
             @Valid @RequestBody BookingCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             HttpServletRequest httpRequest
     ) {
         Long userId = getUserIdFromRequest(httpRequest);
         request.setScheduleId(scheduleId);
-        String pnr = bookingService.createBooking(request, userId);
+        //retries carrying the same Idempotency-Key get the original PNR back
+        String pnr = idempotencyKey != null
+                ? idempotentBookingCreator.createBooking(idempotencyKey, request, userId)
+                : bookingService.createBooking(request, userId);
         return ResponseEntity.status(HttpStatus.CREATED).body(pnr);
     }
 
+    //books many PNRs at once, e.g. agency uploads; every booking gets its own result
+    @PostMapping("/bookings/bulk")
+    public ResponseEntity<BulkBookingResponse> bookFlights(
+            @Valid @RequestBody BulkBookingRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        Long userId = getUserIdFromRequest(httpRequest);
+        BulkBookingResponse response = bookingService.createBookings(request.getBookings(), userId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/booking/{pnr}")
     public ResponseEntity<BookingResponse> getBookingByPnr(
             @PathVariable String pnr,
@@ -58,6 +82,36 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    //keyset-paginated listing of the current user's bookings, newest first
+    @GetMapping("/bookings/page")
+    public ResponseEntity<BookingPageResponse> getMyBookingsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) BookingStatus status,
+            HttpServletRequest httpRequest
+    ) {
+        Long userId = getUserIdFromRequest(httpRequest);
+        BookingPageResponse page = bookingService.getBookingsPage(userId, after, size, status);
+        return ResponseEntity.ok(page);
+    }
+
+    //admin export of all bookings with passengers as NDJSON, streamed row by row
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) BookingStatus status,
+            HttpServletRequest httpRequest
+    ) {
+        if (!getRolesFromRequest(httpRequest).contains("ROLE_ADMIN")) {
+            throw new AccessDeniedException("Only administrators can export bookings");
+        }
+
+        StreamingResponseBody body = out -> bookingNdjsonExporter.export(out, status);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"bookings.ndjson\"")
+                .body(body);
+    }
+
     @DeleteMapping("/booking/cancel/{pnr}")
     public ResponseEntity<ApiResponse> cancelBooking(
             @PathVariable String pnr,
@@ -69,22 +123,23 @@ public class BookingController {
     }
 
     private Long getUserIdFromRequest(HttpServletRequest request) {
-        String jwt = parseJwt(request);
-        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
-            throw new BadRequestException("Invalid or missing authentication token");
-        }
-        Long userId = jwtUtils.getUserIdFromJwtToken(jwt);
+        Long userId = authenticatedUser(request).userId();
         if (userId == null) {
             throw new BadRequestException("User ID not found in token");
         }
         return userId;
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+    private List<String> getRolesFromRequest(HttpServletRequest request) {
+        return authenticatedUser(request).roles();
+    }
+
+    // Set by JwtAuthenticationFilter from the gateway's signed identity header
+    private AuthenticatedUser authenticatedUser(HttpServletRequest request) {
+        AuthenticatedUser user = AuthenticatedUser.of(request);
+        if (user == null) {
+            throw new BadRequestException("Invalid or missing authentication token");
         }
-        return null;
+        return user;
     }
 }
\ No newline at end of file
@@ -2,12 +2,11 @@ package com.saiteja.bookingservice.controller;
 
 import com.saiteja.bookingservice.dto.ticket.TicketResponse;
 import com.saiteja.bookingservice.exception.BadRequestException;
-import com.saiteja.bookingservice.security.JwtUtils;
+import com.saiteja.bookingservice.security.AuthenticatedUser;
 import com.saiteja.bookingservice.service.TicketService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,7 +18,6 @@ import org.springframework.web.bind.annotation.RestController;
 public class TicketController {
 
     private final TicketService ticketService;
-    private final JwtUtils jwtUtils;
 
     @GetMapping("/ticket/{pnr}")
     public ResponseEntity<TicketResponse> getTicketByPnr(@PathVariable String pnr) {
@@ -38,23 +36,20 @@ public class TicketController {
     }
 
     private Long getUserIdFromRequest(HttpServletRequest request) {
-        String jwt = parseJwt(request);
-        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
-            throw new BadRequestException("Invalid or missing authentication token");
-        }
-        Long userId = jwtUtils.getUserIdFromJwtToken(jwt);
+        Long userId = authenticatedUser(request).userId();
         if (userId == null) {
             throw new BadRequestException("User ID not found in token");
         }
         return userId;
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+    // Set by JwtAuthenticationFilter from the gateway's signed identity header
+    private AuthenticatedUser authenticatedUser(HttpServletRequest request) {
+        AuthenticatedUser user = AuthenticatedUser.of(request);
+        if (user == null) {
+            throw new BadRequestException("Invalid or missing authentication token");
         }
-        return null;
+        return user;
     }
 }
 
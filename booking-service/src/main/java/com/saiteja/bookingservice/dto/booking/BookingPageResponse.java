@@ -0,0 +1,19 @@
+package com.saiteja.bookingservice.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+    private List<BookingResponse> bookings;
+    //pass as "after" to fetch the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
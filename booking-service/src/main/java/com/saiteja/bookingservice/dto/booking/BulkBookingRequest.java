@@ -0,0 +1,16 @@
+package com.saiteja.bookingservice.dto.booking;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkBookingRequest {
+    // each booking names its own scheduleId; bookings of the same schedule share one seat hold call.
+    // The bookings themselves are validated one by one, so an invalid one fails only its own result
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 500, message = "At most 500 bookings can be created at once")
+    private List<BookingCreateRequest> bookings;
+}
@@ -0,0 +1,18 @@
+package com.saiteja.bookingservice.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResponse {
+    private int booked;
+    private int failed;
+    private List<BulkBookingResult> results;
+}
@@ -0,0 +1,22 @@
+package com.saiteja.bookingservice.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResult {
+    //position of the booking in the request
+    private int index;
+    private String scheduleId;
+    //set when status is BOOKED
+    private String pnr;
+    //BOOKED or FAILED
+    private String status;
+    //set when status is FAILED
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.saiteja.bookingservice.dto.hold;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchHoldResult {
+    private int index;
+    private SeatHoldResponse hold;
+    private String error;
+}
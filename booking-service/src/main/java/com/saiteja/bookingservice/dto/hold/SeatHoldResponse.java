@@ -0,0 +1,21 @@
+package com.saiteja.bookingservice.dto.hold;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldResponse {
+    private String holdId;
+    private String scheduleId;
+    private List<String> seatNumbers;
+    private String status;
+    private LocalDateTime expiresAt;
+}
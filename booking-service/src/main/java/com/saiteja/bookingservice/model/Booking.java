@@ -12,6 +12,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -50,7 +51,13 @@ public class Booking {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    //seat hold in flight-service backing this booking, null for bookings made before holds
+    @Column(name = "hold_id", length = 36)
+    private String holdId;
+
+    // Listing pages initialize the passengers of up to 100 bookings in one query
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @CollectionTable(name = "booking_passengers", joinColumns = @JoinColumn(name = "booking_id"))
     @NotEmpty(message = "At least one passenger is required")
     @Builder.Default
@@ -0,0 +1,77 @@
+package com.saiteja.bookingservice.model;
+
+import com.saiteja.bookingservice.model.enums.OutboxCommandType;
+import com.saiteja.bookingservice.model.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A seat command for flight-service, written in the same transaction as the
+ * booking change that needs it and delivered later by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_commands", indexes = {
+        @Index(name = "idx_outbox_commands_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxCommand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, updatable = false, length = 20)
+    private OutboxCommandType type;
+
+    //not set on a hold release scheduled before its booking was saved
+    @Column(name = "booking_id", updatable = false, length = 36)
+    private String bookingId;
+
+    @Column(name = "schedule_id", nullable = false, updatable = false, length = 36)
+    private String scheduleId;
+
+    //set for hold commands
+    @Column(name = "hold_id", updatable = false, length = 36)
+    private String holdId;
+
+    //set for RELEASE_SEATS
+    @Convert(converter = SeatNumbersConverter.class)
+    @Column(name = "seat_numbers", updatable = false, length = 2000)
+    private List<String> seatNumbers;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
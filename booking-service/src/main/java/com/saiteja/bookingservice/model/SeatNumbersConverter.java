@@ -0,0 +1,28 @@
+package com.saiteja.bookingservice.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a short list of seat numbers as one comma separated column, so an
+ * outbox command is a single row the relay can read without a join.
+ */
+@Converter
+public class SeatNumbersConverter implements AttributeConverter<List<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<String> seatNumbers) {
+        return seatNumbers == null ? null : String.join(",", seatNumbers);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(column.split(","));
+    }
+}
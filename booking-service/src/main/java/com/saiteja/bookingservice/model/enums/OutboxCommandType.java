@@ -0,0 +1,8 @@
+package com.saiteja.bookingservice.model.enums;
+
+public enum OutboxCommandType {
+    // No longer written; rows queued before holds were confirmed at booking time are still delivered
+    CONFIRM_HOLD,
+    RELEASE_HOLD,
+    RELEASE_SEATS
+}
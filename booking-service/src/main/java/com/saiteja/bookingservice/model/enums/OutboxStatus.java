@@ -0,0 +1,7 @@
+package com.saiteja.bookingservice.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -1,18 +1,37 @@
 package com.saiteja.bookingservice.repository;
 
 import com.saiteja.bookingservice.model.Booking;
+import com.saiteja.bookingservice.model.enums.BookingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, String> {
     Optional<Booking> findByPnr(String pnr);
-    boolean existsByPnr(String pnr);
+    boolean existsByPnrIn(Collection<String> pnrs);
     List<Booking> findByContactEmail(String email);
     List<Booking> findByUserId(Long userId);
     Optional<Booking> findByPnrAndUserId(String pnr, Long userId);
+
+    // Newest first, seeking past (createdAt, id) of the previous page's last booking instead of an OFFSET scan
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.userId = :userId " +
+            "AND (:status IS NULL OR b.status = :status) " +
+            "AND (:afterCreatedAt IS NULL OR b.createdAt < :afterCreatedAt " +
+            "OR (b.createdAt = :afterCreatedAt AND b.id < :afterId)) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findPageByUserId(@Param("userId") Long userId,
+                                   @Param("status") BookingStatus status,
+                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                   @Param("afterId") String afterId,
+                                   Limit limit);
 }
 
@@ -0,0 +1,56 @@
+package com.saiteja.bookingservice.repository;
+
+import com.saiteja.bookingservice.model.OutboxCommand;
+import com.saiteja.bookingservice.model.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxCommandRepository extends JpaRepository<OutboxCommand, String> {
+
+    // Rows another relay instance has locked are skipped, so instances never claim the same command
+    @Query(value = "SELECT * FROM outbox_commands " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxCommand> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxCommand c SET c.status = :status, c.nextAttemptAt = :nextAttemptAt, " +
+            "c.lastError = :lastError, c.updatedAt = :now WHERE c.id = :id")
+    int complete(@Param("id") String id,
+                 @Param("status") OutboxStatus status,
+                 @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                 @Param("lastError") String lastError,
+                 @Param("now") LocalDateTime now);
+
+    // Only while no relay has claimed the command: a claim counts an attempt before calling flight-service
+    @Modifying
+    @Query("UPDATE OutboxCommand c SET c.status = :done, c.updatedAt = :now " +
+            "WHERE c.id = :id AND c.status = :pending AND c.attempts = 0")
+    int cancelUnclaimed(@Param("id") String id,
+                        @Param("pending") OutboxStatus pending,
+                        @Param("done") OutboxStatus done,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxCommand c SET c.nextAttemptAt = :now " +
+            "WHERE c.id IN :ids AND c.status = :pending AND c.attempts = 0")
+    int bringForwardUnclaimed(@Param("ids") Collection<String> ids,
+                              @Param("pending") OutboxStatus pending,
+                              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxCommand c WHERE c.status = :status AND c.updatedAt < :before")
+    int deleteByStatusAndUpdatedAtBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
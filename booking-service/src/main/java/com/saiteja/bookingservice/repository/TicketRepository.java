@@ -4,6 +4,7 @@ import com.saiteja.bookingservice.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,13 @@ public interface TicketRepository extends JpaRepository<Ticket, String> {
     Optional<Ticket> findByPnr(String pnr);
 
     List<Ticket> findByBookingId(String bookingId);
+
+    List<TicketIdView> findByBookingIdIn(Collection<String> bookingIds);
+
+    interface TicketIdView {
+        String getId();
+        String getBookingId();
+    }
 }
 
 
@@ -0,0 +1,103 @@
+package com.saiteja.bookingservice.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the identity the API gateway signed into the {@value #HEADER} header
+ * after verifying the caller's JWT. The value is
+ * {@code base64url(payload) "." base64url(HMAC-SHA256(base64url(payload)))}
+ * with a payload of {@code expiry|userId|role,role|username}, signed with
+ * {@code identity.header.secret}. The time spent is recorded in the
+ * {@code auth.verification} timer tagged {@code source=identity-header}.
+ */
+@Component
+public class IdentityHeaderVerifier {
+
+    public static final String HEADER = "X-Authenticated-User";
+    private static final Logger logger = LoggerFactory.getLogger(IdentityHeaderVerifier.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public IdentityHeaderVerifier(@Value("${identity.header.secret}") String secret, MeterRegistry meterRegistry) {
+        this(secret, meterRegistry, Clock.systemUTC());
+    }
+
+    IdentityHeaderVerifier(String secret, MeterRegistry meterRegistry, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.clock = clock;
+        this.validTimer = JwtUtils.verificationTimer(meterRegistry, "identity-header", "valid");
+        this.invalidTimer = JwtUtils.verificationTimer(meterRegistry, "identity-header", "invalid");
+    }
+
+    /**
+     * Returns the signed user, or {@code null} when the header is missing,
+     * forged or expired.
+     */
+    public AuthenticatedUser verify(String header) {
+        if (header == null || header.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        AuthenticatedUser user = parse(header);
+        (user != null ? validTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return user;
+    }
+
+    private AuthenticatedUser parse(String header) {
+        int dot = header.indexOf('.');
+        if (dot <= 0) {
+            logger.warn("Malformed identity header");
+            return null;
+        }
+        try {
+            String encoded = header.substring(0, dot);
+            byte[] signature = Base64.getUrlDecoder().decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, hmac(encoded))) {
+                logger.warn("Identity header signature mismatch");
+                return null;
+            }
+
+            String[] fields = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\\|", 4);
+            if (fields.length != 4 || Long.parseLong(fields[0]) <= clock.instant().getEpochSecond()) {
+                logger.debug("Identity header expired");
+                return null;
+            }
+            Long userId = fields[1].isEmpty() ? null : Long.valueOf(fields[1]);
+            List<String> roles = fields[2].isEmpty() ? List.of() : Arrays.asList(fields[2].split(","));
+            return new AuthenticatedUser(userId, fields[3], roles);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Malformed identity header: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] hmac(String encoded) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encoded.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot verify identity header", e);
+        }
+    }
+}
@@ -19,9 +19,11 @@ import java.util.stream.Collectors;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
     
-    public JwtAuthenticationFilter(JwtUtils jwtUtils) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, IdentityHeaderVerifier identityHeaderVerifier) {
         this.jwtUtils = jwtUtils;
+        this.identityHeaderVerifier = identityHeaderVerifier;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
@@ -30,17 +32,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                List<String> roles = jwtUtils.getRolesFromJwtToken(jwt);
-                
-                List<SimpleGrantedAuthority> authorities = roles.stream()
+            // Requests through the gateway carry its signed identity, the token is only parsed for direct calls
+            AuthenticatedUser user = identityHeaderVerifier.verify(request.getHeader(IdentityHeaderVerifier.HEADER));
+            if (user == null) {
+                user = userFromJwt(request);
+            }
+            if (user != null) {
+                List<SimpleGrantedAuthority> authorities = user.roles().stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
                 UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(user, null, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -52,6 +55,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser userFromJwt(HttpServletRequest request) {
+        String jwt = parseJwt(request);
+        return jwt == null ? null : jwtUtils.verify(jwt);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
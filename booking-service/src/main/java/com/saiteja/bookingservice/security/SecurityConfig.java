@@ -17,9 +17,12 @@ public class SecurityConfig {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private IdentityHeaderVerifier identityHeaderVerifier;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtils);
+        return new JwtAuthenticationFilter(jwtUtils, identityHeaderVerifier);
     }
 
     @Bean
@@ -29,7 +32,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1.0/flight/health").permitAll()
                         .requestMatchers("/api/v1.0/flight/booking/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/v1.0/flight/bookings/export").hasRole("ADMIN")
                         .requestMatchers("/api/v1.0/flight/bookings").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/v1.0/flight/bookings/page").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers("/api/v1.0/flight/bookings/bulk").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/v1.0/flight/ticket/**").hasAnyRole("USER", "ADMIN")
                         .anyRequest().authenticated()
                 );
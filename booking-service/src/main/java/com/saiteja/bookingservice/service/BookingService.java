@@ -2,14 +2,22 @@ package com.saiteja.bookingservice.service;
 
 import com.saiteja.bookingservice.dto.ApiResponse;
 import com.saiteja.bookingservice.dto.booking.BookingCreateRequest;
+import com.saiteja.bookingservice.dto.booking.BookingPageResponse;
 import com.saiteja.bookingservice.dto.booking.BookingResponse;
+import com.saiteja.bookingservice.dto.booking.BulkBookingResponse;
+import com.saiteja.bookingservice.model.enums.BookingStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     String createBooking(BookingCreateRequest request, Long userId);
+    // inTransaction receives the PNR inside the transaction that saves the booking
+    String createBooking(BookingCreateRequest request, Long userId, Consumer<String> inTransaction);
+    BulkBookingResponse createBookings(List<BookingCreateRequest> requests, Long userId);
     BookingResponse getBookingByPnr(String pnr, Long userId);
     List<BookingResponse> getBookingsByUserId(Long userId);
+    BookingPageResponse getBookingsPage(Long userId, String after, int size, BookingStatus status);
     ApiResponse cancelBooking(String pnr, Long userId);
 }
 
@@ -1,9 +1,10 @@
 package com.saiteja.bookingservice.service;
 
 import com.saiteja.bookingservice.dto.ticket.TicketResponse;
+import com.saiteja.bookingservice.model.Booking;
 
 public interface TicketService {
-    TicketResponse generateTicket(String bookingId);
+    TicketResponse generateTicket(Booking booking);
     TicketResponse getTicketByPnr(String pnr);
     TicketResponse getTicketById(String ticketId, Long userId);
 }
@@ -0,0 +1,135 @@
+package com.saiteja.bookingservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.saiteja.bookingservice.model.enums.BookingStatus;
+import com.saiteja.bookingservice.model.enums.Gender;
+import com.saiteja.bookingservice.model.enums.MealOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Writes bookings with their passengers as newline-delimited JSON straight
+ * from a JDBC cursor. Rows come back ordered by booking id, so the passenger
+ * rows of one booking are adjacent and each booking is written as soon as its
+ * last passenger is read. Rows are fetched {@code booking.export.fetch-size}
+ * at a time inside a read-only transaction (PostgreSQL only streams with
+ * auto-commit off), so memory use does not grow with the number of bookings.
+ */
+@Component
+public class BookingNdjsonExporter {
+
+    private static final String EXPORT_SQL =
+            "SELECT b.id, b.pnr, b.schedule_id, b.user_id, b.contact_email, b.status, b.created_at, b.updated_at, " +
+            "p.full_name, p.gender, p.age, p.seat_number, p.meal_option " +
+            "FROM bookings b LEFT JOIN booking_passengers p ON p.booking_id = b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public BookingNdjsonExporter(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void export(OutputStream out, BookingStatus status) throws IOException {
+        String sql = EXPORT_SQL + (status != null ? " WHERE b.status = ?" : "") + " ORDER BY b.id";
+        Object[] args = status != null ? new Object[]{status.name()} : new Object[0];
+
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null);
+            BookingWriter writer = new BookingWriter(json);
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(sql, writer::row, args));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class BookingWriter {
+        private final JsonGenerator json;
+        private String currentId;
+
+        private BookingWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        private void row(ResultSet rs) throws SQLException {
+            try {
+                String id = rs.getString("id");
+                if (!id.equals(currentId)) {
+                    finish();
+                    startBooking(rs);
+                    currentId = id;
+                }
+                if (rs.getString("seat_number") != null) {
+                    writePassenger(rs);
+                }
+            } catch (IOException e) {
+                // Client went away, abort the cursor instead of reading the rest of the table
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void startBooking(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeStringField("bookingId", rs.getString("id"));
+            json.writeStringField("pnr", rs.getString("pnr"));
+            json.writeStringField("scheduleId", rs.getString("schedule_id"));
+            json.writeNumberField("userId", rs.getLong("user_id"));
+            json.writeStringField("contactEmail", rs.getString("contact_email"));
+            json.writeStringField("status", rs.getString("status"));
+            json.writeStringField("createdAt", text(rs.getTimestamp("created_at")));
+            json.writeStringField("updatedAt", text(rs.getTimestamp("updated_at")));
+            json.writeArrayFieldStart("passengers");
+        }
+
+        private void writePassenger(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeStringField("fullName", rs.getString("full_name"));
+            json.writeStringField("gender", enumName(rs.getObject("gender"), Gender.values()));
+            json.writeNumberField("age", rs.getInt("age"));
+            json.writeStringField("seatNumber", rs.getString("seat_number"));
+            json.writeStringField("mealOption", enumName(rs.getObject("meal_option"), MealOption.values()));
+            json.writeEndObject();
+        }
+
+        private void finish() throws IOException {
+            if (currentId != null) {
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+                currentId = null;
+            }
+        }
+    }
+
+    // Passenger enums are mapped without @Enumerated, so the column holds the ordinal
+    private static String enumName(Object column, Enum<?>[] values) {
+        if (column instanceof Number ordinal) {
+            return values[ordinal.intValue()].name();
+        }
+        return column == null ? null : column.toString();
+    }
+
+    private static String text(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
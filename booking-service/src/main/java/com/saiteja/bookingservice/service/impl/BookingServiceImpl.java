@@ -3,7 +3,13 @@ package com.saiteja.bookingservice.service.impl;
 import com.saiteja.bookingservice.client.FlightServiceClient;
 import com.saiteja.bookingservice.dto.ApiResponse;
 import com.saiteja.bookingservice.dto.booking.BookingCreateRequest;
+import com.saiteja.bookingservice.dto.booking.BookingPageResponse;
 import com.saiteja.bookingservice.dto.booking.BookingResponse;
+import com.saiteja.bookingservice.dto.booking.BulkBookingResponse;
+import com.saiteja.bookingservice.dto.booking.BulkBookingResult;
+import com.saiteja.bookingservice.dto.hold.BatchHoldResult;
+import com.saiteja.bookingservice.dto.hold.SeatHoldResponse;
+import com.saiteja.bookingservice.dto.passenger.PassengerRequest;
 import com.saiteja.bookingservice.dto.passenger.PassengerResponse;
 import com.saiteja.bookingservice.exception.BadRequestException;
 import com.saiteja.bookingservice.exception.ResourceNotFoundException;
@@ -16,25 +22,57 @@ import com.saiteja.bookingservice.repository.BookingRepository;
 import com.saiteja.bookingservice.repository.TicketRepository;
 import com.saiteja.bookingservice.service.BookingService;
 import com.saiteja.bookingservice.service.TicketService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_PNR_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final TicketService ticketService;
     private final TicketRepository ticketRepository;
     private final FlightServiceClient flightServiceClient;
+    private final PnrGenerator pnrGenerator;
+    private final SeatCommandOutbox seatCommandOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String createBooking(BookingCreateRequest request, Long userId) {
+        return createBooking(request, userId, pnr -> { });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String createBooking(BookingCreateRequest request, Long userId, Consumer<String> inTransaction) {
         if (userId == null) {
             throw new BadRequestException("User ID is required");
         }
@@ -47,35 +85,246 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("At least one passenger is required");
         }
 
-        // Lock seats in flight-service for the schedule
-        List<String> seatNumbers = request.getPassengers().stream()
-                .map(com.saiteja.bookingservice.dto.passenger.PassengerRequest::getSeatNumber)
-                .collect(Collectors.toList());
+        if (request.getContactEmail() == null || request.getContactEmail().isBlank()) {
+            throw new BadRequestException("Contact email is required");
+        }
 
+        // Hold seats in flight-service; they return to the schedule on their own if we never confirm
+        SeatHoldResponse hold;
         try {
-            flightServiceClient.lockSeats(request.getScheduleId(), seatNumbers);
+            hold = flightServiceClient.holdSeats(request.getScheduleId(), seatNumbersOf(request));
         } catch (Exception e) {
             throw new BadRequestException("Failed to lock seats for schedule " + request.getScheduleId() + ": " + e.getMessage());
         }
 
-        // Generate unique PNR
-        String pnr = generateUniquePNR();
+        List<String> releases = scheduleReleases(request.getScheduleId(), List.of(hold.getHoldId()));
+
+        String pnr;
+        try {
+            flightServiceClient.confirmHold(hold.getHoldId());
+            // Booking and ticket go out in one batched flush, committed together with cancelling the hold's release
+            pnr = saveWithFreshPnrs(1, pnrs -> {
+                saveBooking(request, userId, hold.getHoldId(), pnrs.get(0));
+                seatCommandOutbox.cancelHoldRelease(releases.get(0));
+                inTransaction.accept(pnrs.get(0));
+            }).get(0);
+        } catch (RuntimeException e) {
+            // Nothing was committed; the scheduled release frees the hold whether or not its confirm went through
+            releaseNow(releases);
+            throw e;
+        }
+
+        return pnr;
+    }
+
+    // Bookings are grouped by schedule: one batch hold call, one batch confirm call and one batched transaction per schedule
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkBookingResponse createBookings(List<BookingCreateRequest> requests, Long userId) {
+        if (userId == null) {
+            throw new BadRequestException("User ID is required");
+        }
+
+        List<BulkBookingResult> results = new ArrayList<>(requests.size());
+        Map<String, List<Integer>> bySchedule = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingCreateRequest request = requests.get(i);
+            BulkBookingResult result = BulkBookingResult.builder().index(i)
+                    .scheduleId(request != null ? request.getScheduleId() : null).build();
+            results.add(result);
+            String invalid = request != null ? violationsOf(request) : "Booking is required";
+            if (invalid != null) {
+                fail(result, invalid);
+            } else if (request.getScheduleId() == null || request.getScheduleId().trim().isEmpty()) {
+                fail(result, "Schedule ID is required");
+            } else {
+                request.setScheduleId(request.getScheduleId().trim());
+                bySchedule.computeIfAbsent(request.getScheduleId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        bySchedule.forEach((scheduleId, indexes) -> bookSchedule(scheduleId, indexes, requests, results, userId));
+
+        int booked = (int) results.stream().filter(result -> result.getError() == null).count();
+        return BulkBookingResponse.builder()
+                .booked(booked)
+                .failed(results.size() - booked)
+                .results(results)
+                .build();
+    }
+
+    private void bookSchedule(String scheduleId, List<Integer> indexes, List<BookingCreateRequest> requests,
+                              List<BulkBookingResult> results, Long userId) {
+        List<BatchHoldResult> holds;
+        try {
+            holds = flightServiceClient.holdSeatsBatch(scheduleId, indexes.stream().map(i -> seatNumbersOf(requests.get(i))).toList());
+        } catch (RuntimeException e) {
+            indexes.forEach(i -> fail(results.get(i), "Failed to lock seats for schedule " + scheduleId + ": " + e.getMessage()));
+            return;
+        }
+
+        List<Integer> held = new ArrayList<>();
+        List<String> holdIds = new ArrayList<>();
+        for (BatchHoldResult hold : holds) {
+            int index = indexes.get(hold.getIndex());
+            if (hold.getHold() != null) {
+                held.add(index);
+                holdIds.add(hold.getHold().getHoldId());
+            } else {
+                fail(results.get(index), hold.getError());
+            }
+        }
+        if (held.isEmpty()) {
+            return;
+        }
+
+        List<String> releases;
+        try {
+            releases = scheduleReleases(scheduleId, holdIds);
+        } catch (RuntimeException e) {
+            held.forEach(i -> fail(results.get(i), "Failed to save booking: " + e.getMessage()));
+            return;
+        }
+
+        List<BatchHoldResult> confirms;
+        try {
+            confirms = flightServiceClient.confirmHoldsBatch(scheduleId, holdIds);
+        } catch (RuntimeException e) {
+            held.forEach(i -> fail(results.get(i), "Failed to confirm seats for schedule " + scheduleId + ": " + e.getMessage()));
+            releaseNow(releases);
+            return;
+        }
+
+        // A hold that could not be confirmed fails only its own booking; its scheduled release frees it
+        List<Integer> confirmed = new ArrayList<>();
+        List<String> confirmedHolds = new ArrayList<>();
+        List<String> confirmedReleases = new ArrayList<>();
+        List<String> unconfirmedReleases = new ArrayList<>();
+        for (BatchHoldResult confirm : confirms) {
+            int i = confirm.getIndex();
+            if (confirm.getHold() != null) {
+                confirmed.add(held.get(i));
+                confirmedHolds.add(holdIds.get(i));
+                confirmedReleases.add(releases.get(i));
+            } else {
+                fail(results.get(held.get(i)), confirm.getError());
+                unconfirmedReleases.add(releases.get(i));
+            }
+        }
+        releaseNow(unconfirmedReleases);
+        if (confirmed.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> pnrs = saveWithFreshPnrs(confirmed.size(), codes -> {
+                for (int i = 0; i < confirmed.size(); i++) {
+                    saveBooking(requests.get(confirmed.get(i)), userId, confirmedHolds.get(i), codes.get(i));
+                    seatCommandOutbox.cancelHoldRelease(confirmedReleases.get(i));
+                }
+            });
+            for (int i = 0; i < confirmed.size(); i++) {
+                BulkBookingResult result = results.get(confirmed.get(i));
+                result.setPnr(pnrs.get(i));
+                result.setStatus("BOOKED");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not save {} bulk bookings for schedule {}: {}", confirmed.size(), scheduleId, e.getMessage());
+            releaseNow(confirmedReleases);
+            confirmed.forEach(i -> fail(results.get(i), "Failed to save booking: " + e.getMessage()));
+        }
+    }
+
+    // Same constraints the single-booking endpoint checks with @Valid, reported as one message per booking
+    private String violationsOf(BookingCreateRequest request) {
+        Set<ConstraintViolation<BookingCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static void fail(BulkBookingResult result, String error) {
+        result.setStatus("FAILED");
+        result.setError(error != null ? error : "Booking failed");
+    }
+
+    // Generated PNRs only collide when two instances share a node id; the unique constraint rejects the
+    // duplicate and the bookings are saved again in a new transaction under new codes
+    private List<String> saveWithFreshPnrs(int count, Consumer<List<String>> save) {
+        for (int attempt = 1; ; attempt++) {
+            List<String> pnrs = Stream.generate(pnrGenerator::next).limit(count).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    save.accept(pnrs);
+                    bookingRepository.flush();
+                });
+                return pnrs;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_PNR_ATTEMPTS || !bookingRepository.existsByPnrIn(pnrs)) {
+                    throw e;
+                }
+                log.warn("Generated PNR already taken (attempt {}), check booking.pnr.node-id is unique per instance",
+                        attempt);
+            }
+        }
+    }
 
-        // Create booking
+    private Booking saveBooking(BookingCreateRequest request, Long userId, String holdId, String pnr) {
         Booking booking = Booking.builder()
                 .pnr(pnr)
                 .contactEmail(request.getContactEmail().trim().toLowerCase())
                 .userId(userId)
                 .scheduleId(request.getScheduleId())
+                .holdId(holdId)
                 .passengers(mapPassengers(request))
                 .status(BookingStatus.CONFIRMED)
                 .build();
 
-        Booking savedBooking = bookingRepository.save(booking);
+        bookingRepository.save(booking);
+        ticketService.generateTicket(booking);
+        return booking;
+    }
 
-        ticketService.generateTicket(savedBooking.getId());
+    // Committed before the holds are confirmed, so a hold whose booking never commits is released even if this
+    // instance dies; if the releases cannot be recorded the holds are still unconfirmed and expire on their own
+    private List<String> scheduleReleases(String scheduleId, List<String> holdIds) {
+        try {
+            return seatCommandOutbox.scheduleHoldReleases(scheduleId, holdIds);
+        } catch (RuntimeException e) {
+            holdIds.forEach(this::releaseHoldInBackground);
+            throw e;
+        }
+    }
 
-        return pnr;
+    // Best effort: a release that is not brought forward still runs once its delay is up
+    private void releaseNow(List<String> releases) {
+        if (releases.isEmpty()) {
+            return;
+        }
+        try {
+            seatCommandOutbox.releaseHoldsNow(releases);
+        } catch (RuntimeException e) {
+            log.warn("Could not bring forward {} seat hold releases: {}", releases.size(), e.getMessage());
+        }
+    }
+
+    // The hold expires on its own if this fails
+    private void releaseHoldInBackground(String holdId) {
+        flightServiceClient.releaseHoldAsync(holdId)
+                .exceptionally(releaseError -> {
+                    log.warn("Could not release seat hold {}: {}", holdId, releaseError.getMessage());
+                    return null;
+                });
+    }
+
+    private static List<String> seatNumbersOf(BookingCreateRequest request) {
+        return request.getPassengers().stream()
+                .map(PassengerRequest::getSeatNumber)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -98,10 +347,39 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("User ID is required");
         }
 
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        return bookings.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(bookingRepository.findByUserId(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingsPage(Long userId, String after, int size, BookingStatus status) {
+        if (userId == null) {
+            throw new BadRequestException("User ID is required");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
+        if (after != null && !after.isBlank()) {
+            String[] cursor = decodeCursor(after);
+            afterCreatedAt = LocalDateTime.parse(cursor[0]);
+            afterId = cursor[1];
+        }
+
+        List<Booking> bookings = bookingRepository.findPageByUserId(userId, status, afterCreatedAt, afterId, Limit.of(size + 1));
+        boolean hasMore = bookings.size() > size;
+        if (hasMore) {
+            bookings = bookings.subList(0, size);
+        }
+
+        Booking last = bookings.isEmpty() ? null : bookings.get(bookings.size() - 1);
+        return BookingPageResponse.builder()
+                .bookings(toResponses(bookings))
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -124,12 +402,8 @@ public class BookingServiceImpl implements BookingService {
                 .map(Passenger::getSeatNumber)
                 .collect(Collectors.toList());
 
-        try {
-            flightServiceClient.releaseSeats(booking.getScheduleId(), seatNumbers);
-        } catch (Exception e) {
-            // Log error but don't fail cancellation if seat release fails
-            // The booking is already marked as cancelled
-        }
+        // Released by the outbox relay after commit, so cancellation never waits on flight-service
+        seatCommandOutbox.releaseSeats(booking, seatNumbers);
 
         // Cancel all tickets for this booking - use batch save for better performance
         List<Ticket> tickets = ticketRepository.findByBookingId(booking.getId());
@@ -158,7 +432,52 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    // One query for all ticket ids; passengers are initialized in batches through @BatchSize on the collection
+    private List<BookingResponse> toResponses(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Map<String, String> ticketIds = ticketRepository.findByBookingIdIn(bookings.stream().map(Booking::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TicketRepository.TicketIdView::getBookingId,
+                        TicketRepository.TicketIdView::getId, (first, second) -> first));
+
+        return bookings.stream()
+                .map(booking -> toResponse(booking, ticketIds.get(booking.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Opaque to clients: base64url of "createdAt|id" of the last booking on the page
+    private static String encodeCursor(Booking booking) {
+        String cursor = booking.getCreatedAt() + "|" + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length == 2) {
+                LocalDateTime.parse(parts[0]);
+                return parts;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // fall through to the error below
+        }
+        throw new BadRequestException("Invalid page cursor");
+    }
+
     private BookingResponse toResponse(Booking booking) {
+        // Get ticketId for this booking (since one booking = one scheduleId = one ticket)
+        String ticketId = null;
+        List<Ticket> tickets = ticketRepository.findByBookingId(booking.getId());
+        if (!tickets.isEmpty()) {
+            // Get the first ticket (should be only one)
+            ticketId = tickets.get(0).getId();
+        }
+        return toResponse(booking, ticketId);
+    }
+
+    private BookingResponse toResponse(Booking booking, String ticketId) {
         List<PassengerResponse> passengers = booking.getPassengers().stream()
                 .map(p -> PassengerResponse.builder()
                         .fullName(p.getFullName())
@@ -169,14 +488,6 @@ public class BookingServiceImpl implements BookingService {
                         .build())
                 .collect(Collectors.toList());
 
-        // Get ticketId for this booking (since one booking = one scheduleId = one ticket)
-        String ticketId = null;
-        List<Ticket> tickets = ticketRepository.findByBookingId(booking.getId());
-        if (!tickets.isEmpty()) {
-            // Get the first ticket (should be only one)
-            ticketId = tickets.get(0).getId();
-        }
-
         return BookingResponse.builder()
                 .bookingId(booking.getId())
                 .pnr(booking.getPnr())
@@ -190,29 +501,4 @@ public class BookingServiceImpl implements BookingService {
                 .updatedAt(booking.getUpdatedAt())
                 .build();
     }
-
-    // Generate unique PNR number
-    private String generateUniquePNR() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        int maxAttempts = 10;
-        int attempts = 0;
-        String pnr;
-
-        do {
-            StringBuilder pnrBuilder = new StringBuilder();
-            for (int i = 0; i < 6; i++) {
-                int index = (int) (Math.random() * chars.length());
-                pnrBuilder.append(chars.charAt(index));
-            }
-            pnr = pnrBuilder.toString();
-            attempts++;
-            
-            // Check if PNR exists only once per attempt
-            if (!bookingRepository.existsByPnr(pnr)) {
-                return pnr;
-            }
-        } while (attempts < maxAttempts);
-
-        throw new BadRequestException("Failed to generate unique PNR. Please try again.");
-    }
 }
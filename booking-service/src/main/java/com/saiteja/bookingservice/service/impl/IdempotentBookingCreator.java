@@ -0,0 +1,168 @@
+package com.saiteja.bookingservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saiteja.bookingservice.dto.booking.BookingCreateRequest;
+import com.saiteja.bookingservice.exception.BadRequestException;
+import com.saiteja.bookingservice.exception.DuplicateResourceException;
+import com.saiteja.bookingservice.model.IdempotencyKey;
+import com.saiteja.bookingservice.repository.IdempotencyKeyRepository;
+import com.saiteja.bookingservice.service.BookingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Creates bookings at most once per {@code Idempotency-Key} and user.
+ * <p>
+ * A key is claimed with a row in {@code idempotency_keys} before the seats are
+ * held, so a retry that arrives while the first attempt is still running gets
+ * a 409 instead of a second booking. The PNR is written to that row in the
+ * booking's own transaction, and a replay returns it without calling
+ * flight-service. Recent keys are also kept in memory for
+ * {@code booking.idempotency.cache-ttl-seconds}, so a burst of retries does
+ * not reach the database. Rows are kept for
+ * {@code booking.idempotency.retention-hours}.
+ * <p>
+ * A failed attempt gives its key back, so the client can retry with the same
+ * key. A claim left behind by a crashed instance can be taken over after
+ * {@code booking.idempotency.pending-timeout-seconds}.
+ */
+@Slf4j
+@Component
+public class IdempotentBookingCreator {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final BookingService bookingService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Replay> replays;
+    private final Duration retention;
+    private final Duration pendingTimeout;
+
+    public IdempotentBookingCreator(BookingService bookingService,
+                                    IdempotencyKeyRepository idempotencyKeyRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${booking.idempotency.cache-ttl-seconds:300}") long cacheTtlSeconds,
+                                    @Value("${booking.idempotency.cache-max-size:100000}") long cacheMaxSize,
+                                    @Value("${booking.idempotency.retention-hours:24}") long retentionHours,
+                                    @Value("${booking.idempotency.pending-timeout-seconds:60}") long pendingTimeoutSeconds) {
+        this.bookingService = bookingService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.replays = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+        this.retention = Duration.ofHours(retentionHours);
+        this.pendingTimeout = Duration.ofSeconds(pendingTimeoutSeconds);
+    }
+
+    public String createBooking(String key, BookingCreateRequest request, Long userId) {
+        if (userId == null) {
+            throw new BadRequestException("User ID is required");
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        String cacheKey = userId + ":" + key;
+        Replay cached = replays.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.pnrFor(requestHash);
+        }
+
+        IdempotencyKey claim = claim(userId, key, requestHash);
+        if (claim.getPnr() != null) {
+            replays.put(cacheKey, new Replay(claim.getRequestHash(), claim.getPnr()));
+            return claim.getPnr();
+        }
+
+        String pnr;
+        try {
+            pnr = bookingService.createBooking(request, userId, created -> {
+                // The claim is gone if an attempt that outlived pending-timeout lost it to a retry
+                if (idempotencyKeyRepository.complete(claim.getId(), created) != 1) {
+                    throw new DuplicateResourceException("A booking with this Idempotency-Key is still being processed");
+                }
+            });
+        } catch (RuntimeException e) {
+            idempotencyKeyRepository.deletePending(claim.getId());
+            throw e;
+        }
+
+        replays.put(cacheKey, new Replay(requestHash, pnr));
+        return pnr;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private IdempotencyKey claim(Long userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyKey found = existing.get();
+            if (!found.getRequestHash().equals(requestHash)) {
+                throw new BadRequestException("Idempotency-Key was already used for a different booking request");
+            }
+            if (found.getPnr() != null) {
+                return found;
+            }
+            if (found.getCreatedAt().isAfter(now.minus(pendingTimeout))) {
+                throw new DuplicateResourceException("A booking with this Idempotency-Key is still being processed");
+            }
+            // Left behind by an attempt that never finished
+            idempotencyKeyRepository.deletePending(found.getId());
+        }
+
+        try {
+            return idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .userId(userId)
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .createdAt(now)
+                    .expiresAt(now.plus(retention))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("A booking with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private String hash(BookingCreateRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint booking request", e);
+        }
+    }
+
+    private record Replay(String requestHash, String pnr) {
+
+        String pnrFor(String otherHash) {
+            if (!requestHash.equals(otherHash)) {
+                throw new BadRequestException("Idempotency-Key was already used for a different booking request");
+            }
+            return pnr;
+        }
+    }
+}
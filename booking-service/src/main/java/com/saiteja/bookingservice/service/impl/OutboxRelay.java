@@ -0,0 +1,134 @@
+package com.saiteja.bookingservice.service.impl;
+
+import com.saiteja.bookingservice.client.FlightServiceClient;
+import com.saiteja.bookingservice.model.OutboxCommand;
+import com.saiteja.bookingservice.model.enums.OutboxStatus;
+import com.saiteja.bookingservice.repository.OutboxCommandRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers {@link OutboxCommand}s to flight-service in batches.
+ * <p>
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED} in a short
+ * transaction that pushes the commands' next attempt a lease into the future,
+ * so several booking-service instances can relay side by side and a command
+ * whose relay died is picked up again once the lease runs out. The HTTP calls
+ * happen outside that transaction. A failed command is retried with
+ * exponential backoff and given up on (FAILED) after
+ * {@code booking.outbox.max-attempts}.
+ * <p>
+ * Delivery is at least once. Every command is safe to repeat: releasing a
+ * hold is a conditional status change in flight-service, and a release by
+ * seat number carries the command id as its release key, so flight-service
+ * frees those seats only once. Releases never race the hold TTL, so the retry
+ * window can outlast it.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxCommandRepository outboxCommandRepository;
+    private final FlightServiceClient flightServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxCommandRepository outboxCommandRepository,
+                       FlightServiceClient flightServiceClient,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${booking.outbox.batch-size:50}") int batchSize,
+                       @Value("${booking.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${booking.outbox.lease-seconds:60}") long leaseSeconds,
+                       @Value("${booking.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                       @Value("${booking.outbox.max-backoff-ms:300000}") long maxBackoffMs,
+                       @Value("${booking.outbox.retention-days:7}") long retentionDays) {
+        this.outboxCommandRepository = outboxCommandRepository;
+        this.flightServiceClient = flightServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public void relay() {
+        List<OutboxCommand> batch;
+        do {
+            batch = claim();
+            batch.forEach(this::deliver);
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        int deleted = outboxCommandRepository.deleteByStatusAndUpdatedAtBefore(
+                OutboxStatus.DONE, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox commands", deleted);
+        }
+    }
+
+    private List<OutboxCommand> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxCommand> due = outboxCommandRepository.lockDue(now, batchSize);
+            for (OutboxCommand command : due) {
+                command.setAttempts(command.getAttempts() + 1);
+                command.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(OutboxCommand command) {
+        try {
+            switch (command.getType()) {
+                case CONFIRM_HOLD -> flightServiceClient.confirmHold(command.getHoldId());
+                case RELEASE_HOLD -> flightServiceClient.releaseHold(command.getHoldId());
+                case RELEASE_SEATS -> flightServiceClient.releaseSeats(command.getScheduleId(), command.getSeatNumbers(), command.getId());
+            }
+            outboxCommandRepository.complete(command.getId(), OutboxStatus.DONE, command.getNextAttemptAt(), null, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            retryLater(command, e);
+        }
+    }
+
+    private void retryLater(OutboxCommand command, RuntimeException error) {
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (command.getAttempts() >= maxAttempts) {
+            log.error("Giving up on {} for booking {} after {} attempts: {}",
+                    command.getType(), command.getBookingId(), command.getAttempts(), message);
+            outboxCommandRepository.complete(command.getId(), OutboxStatus.FAILED, now, message, now);
+            return;
+        }
+
+        long backoffMs = initialBackoff.toMillis() << Math.min(command.getAttempts() - 1, 20);
+        LocalDateTime nextAttemptAt = now.plus(Duration.ofMillis(Math.min(backoffMs, maxBackoff.toMillis())));
+        log.warn("{} for booking {} failed (attempt {}), retrying at {}: {}",
+                command.getType(), command.getBookingId(), command.getAttempts(), nextAttemptAt, message);
+        outboxCommandRepository.complete(command.getId(), OutboxStatus.PENDING, nextAttemptAt, message, now);
+    }
+}
@@ -0,0 +1,112 @@
+package com.saiteja.bookingservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique 10-character PNRs without asking the database.
+ * <p>
+ * Each code is a 51-bit number made of the seconds since 2025-01-01 (32 bits),
+ * the instance's {@code booking.pnr.node-id} (8 bits) and a per-second sequence
+ * (11 bits). That gives 2048 codes per second per instance, across up to 256
+ * instances. When a second runs out of sequence numbers the generator moves
+ * on to the next second instead of waiting. It never goes back to an earlier
+ * second, even if the clock does. The number is then shuffled with a
+ * reversible mix, so consecutive bookings do not get neighbouring codes, and
+ * written as fixed-width base 36.
+ * <p>
+ * Every instance must run with a different node id. When
+ * {@code booking.pnr.node-id} is not set, the node id is the last octet of the
+ * instance's site-local IPv4 address, which differs between containers on the
+ * same /24 network; startup fails if there is no such address. Deployments
+ * that span larger networks should set the node id explicitly. If two
+ * instances do end up sharing a node id, the unique constraint on
+ * {@code bookings.pnr} rejects the duplicate and the booking is saved again
+ * under a new code.
+ */
+@Slf4j
+@Component
+public class PnrGenerator {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final int LENGTH = 10;
+    private static final long EPOCH_SECOND = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+
+    private static final int NODE_BITS = 8;
+    private static final int SEQUENCE_BITS = 11;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long MASK = (1L << (32 + NODE_BITS + SEQUENCE_BITS)) - 1;
+
+    private final long node;
+    // Last issued (second << SEQUENCE_BITS | sequence)
+    private final AtomicLong last = new AtomicLong();
+
+    public PnrGenerator(@Value("${booking.pnr.node-id:}") String nodeId) {
+        if (nodeId.isBlank()) {
+            this.node = nodeFromAddress();
+            log.info("booking.pnr.node-id is not set, using {} from this instance's network address", node);
+            return;
+        }
+        long node = Long.parseLong(nodeId.trim());
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("booking.pnr.node-id must be between 0 and " + MAX_NODE + ", was " + node);
+        }
+        this.node = node;
+    }
+
+    public String next() {
+        long now = (Instant.now().getEpochSecond() - EPOCH_SECOND) << SEQUENCE_BITS;
+        long issued = last.updateAndGet(previous -> Math.max(previous + 1, now));
+
+        long second = issued >>> SEQUENCE_BITS;
+        long sequence = issued & MAX_SEQUENCE;
+        long id = (second << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+        return encode(scramble(id & MASK));
+    }
+
+    private static long nodeFromAddress() {
+        try {
+            for (NetworkInterface nic : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                if (!nic.isUp() || nic.isLoopback()) {
+                    continue;
+                }
+                for (InetAddress address : Collections.list(nic.getInetAddresses())) {
+                    if (address instanceof Inet4Address && address.isSiteLocalAddress()) {
+                        return address.getAddress()[3] & MAX_NODE;
+                    }
+                }
+            }
+        } catch (SocketException e) {
+            throw new IllegalStateException("Could not derive a PNR node id, set booking.pnr.node-id", e);
+        }
+        throw new IllegalStateException("No site-local IPv4 address to derive a PNR node id from, set booking.pnr.node-id");
+    }
+
+    // Odd multipliers and right xor-shifts are both invertible modulo 2^51, so distinct ids stay distinct
+    private static long scramble(long id) {
+        id = (id * 0x5DEECE66DL) & MASK;
+        id ^= id >>> 23;
+        id = (id * 0x9E3779B97F4A7C15L) & MASK;
+        id ^= id >>> 29;
+        return id;
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(code);
+    }
+}
@@ -0,0 +1,92 @@
+package com.saiteja.bookingservice.service.impl;
+
+import com.saiteja.bookingservice.model.Booking;
+import com.saiteja.bookingservice.model.OutboxCommand;
+import com.saiteja.bookingservice.model.enums.OutboxCommandType;
+import com.saiteja.bookingservice.model.enums.OutboxStatus;
+import com.saiteja.bookingservice.repository.OutboxCommandRepository;
+import com.saiteja.bookingservice.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records seat commands for flight-service in the caller's transaction, so a
+ * command exists exactly when the booking change that needs it commits. The
+ * {@link OutboxRelay} delivers them.
+ * <p>
+ * Only releases go through here. A new booking confirms its hold before it
+ * is saved: a confirm delivered later could arrive after the hold expired and
+ * its seats were sold again. Before confirming, the booking schedules a
+ * release of the hold in a transaction of its own, due
+ * {@code booking.outbox.hold-release-delay-seconds} later, and cancels it in
+ * the transaction that saves the booking. A hold whose booking never commits,
+ * for whatever reason, is therefore released by the relay, confirmed or not.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatCommandOutbox {
+
+    private final OutboxCommandRepository outboxCommandRepository;
+    private final Duration holdReleaseDelay;
+
+    public SeatCommandOutbox(OutboxCommandRepository outboxCommandRepository,
+                             @Value("${booking.outbox.hold-release-delay-seconds:60}") long holdReleaseDelaySeconds) {
+        this.outboxCommandRepository = outboxCommandRepository;
+        this.holdReleaseDelay = Duration.ofSeconds(holdReleaseDelaySeconds);
+    }
+
+    // Returns the command ids, in the order of holdIds
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> scheduleHoldReleases(String scheduleId, List<String> holdIds) {
+        LocalDateTime dueAt = LocalDateTime.now().plus(holdReleaseDelay);
+        List<OutboxCommand> commands = holdIds.stream()
+                .map(holdId -> OutboxCommand.builder()
+                        .type(OutboxCommandType.RELEASE_HOLD)
+                        .scheduleId(scheduleId)
+                        .holdId(holdId)
+                        .status(OutboxStatus.PENDING)
+                        .nextAttemptAt(dueAt)
+                        .build())
+                .toList();
+        return outboxCommandRepository.saveAll(commands).stream().map(OutboxCommand::getId).toList();
+    }
+
+    // In the booking's transaction; fails once the relay has started on the release, which then wins
+    public void cancelHoldRelease(String commandId) {
+        if (outboxCommandRepository.cancelUnclaimed(commandId, OutboxStatus.PENDING, OutboxStatus.DONE, LocalDateTime.now()) != 1) {
+            throw new BadRequestException("The seat hold was released before the booking could be saved. Please try again.");
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseHoldsNow(List<String> commandIds) {
+        outboxCommandRepository.bringForwardUnclaimed(commandIds, OutboxStatus.PENDING, LocalDateTime.now());
+    }
+
+    // Bookings made before seat holds existed have no hold, so their seats are released by number
+    public void releaseSeats(Booking booking, List<String> seatNumbers) {
+        if (booking.getHoldId() != null) {
+            enqueue(OutboxCommandType.RELEASE_HOLD, booking, null);
+        } else {
+            enqueue(OutboxCommandType.RELEASE_SEATS, booking, seatNumbers);
+        }
+    }
+
+    private void enqueue(OutboxCommandType type, Booking booking, List<String> seatNumbers) {
+        outboxCommandRepository.save(OutboxCommand.builder()
+                .type(type)
+                .bookingId(booking.getId())
+                .scheduleId(booking.getScheduleId())
+                .holdId(booking.getHoldId())
+                .seatNumbers(seatNumbers)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+}
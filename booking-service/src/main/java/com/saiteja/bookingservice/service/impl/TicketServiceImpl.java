@@ -26,11 +26,9 @@ public class TicketServiceImpl implements TicketService {
     private final TicketRepository ticketRepository;
     private final BookingRepository bookingRepository;
 
+    // Issued from the booking being created, so nothing is read back; the insert is batched with the booking's on flush
     @Override
-    public TicketResponse generateTicket(String bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-
+    public TicketResponse generateTicket(Booking booking) {
         if (booking.getScheduleId() == null || booking.getScheduleId().trim().isEmpty()) {
             throw new ResourceNotFoundException("No schedule found for booking");
         }
@@ -59,7 +57,7 @@ public class TicketServiceImpl implements TicketService {
                 .build();
 
         Ticket savedTicket = ticketRepository.save(ticket);
-        
+
         return toResponse(savedTicket);
     }
 
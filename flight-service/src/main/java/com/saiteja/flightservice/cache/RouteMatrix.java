@@ -0,0 +1,222 @@
+package com.saiteja.flightservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory schedules of a day, laid out as a flat
+ * {@code Airport × Airport} matrix indexed by ordinal. Each cell holds the
+ * route's schedules sorted by departure time, so a search is two array reads
+ * and a departures board is one row of the matrix.
+ * <p>
+ * A day is loaded with a single query the first time it is asked for. After
+ * that, schedule changes are applied one schedule at a time: a new or edited
+ * schedule is swapped into its cell, and an older version never replaces a
+ * newer one. Seat claims and releases only move the cell's seat count, without
+ * touching the database. Days are bounded by {@code flight.search.cache.max-days} and
+ * reloaded {@code flight.search.cache.ttl-seconds} after they were built, which
+ * also picks up changes made by other flight-service instances.
+ * <p>
+ * Days load on their own virtual threads and callers wait on the future, so
+ * the database query never runs inside the cache's map lock and a virtual
+ * request thread is never pinned while a day loads.
+ */
+@Component
+public class RouteMatrix {
+
+    private static final Airport[] AIRPORTS = Airport.values();
+    private static final int SIZE = AIRPORTS.length;
+    private static final RouteEntry[] NO_ENTRIES = new RouteEntry[0];
+    private static final Comparator<RouteEntry> BY_DEPARTURE = Comparator
+            .comparing((RouteEntry entry) -> entry.response().getDepartureTime())
+            .thenComparing(entry -> entry.response().getScheduleId());
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncLoadingCache<LocalDate, DaySlice> days;
+
+    public RouteMatrix(FlightScheduleRepository flightScheduleRepository,
+                       @Value("${flight.search.cache.max-days:60}") long maxDays,
+                       @Value("${flight.search.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                // Incremental updates must not push the reload out, so only creation sets the expiry
+                .expireAfter(Expiry.creating((LocalDate date, DaySlice slice) -> Duration.ofSeconds(ttlSeconds)))
+                .executor(loaders)
+                .buildAsync(this::loadDay);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaders.close();
+    }
+
+    public List<FlightScheduleResponse> route(Airport origin, Airport destination, LocalDate date) {
+        return responses(day(date).cells.get(cell(origin, destination)));
+    }
+
+    public List<FlightScheduleResponse> departures(Airport origin, LocalDate date) {
+        DaySlice slice = day(date);
+        List<RouteEntry> board = new ArrayList<>();
+        for (int destination = 0; destination < SIZE; destination++) {
+            board.addAll(Arrays.asList(slice.cells.get(origin.ordinal() * SIZE + destination)));
+        }
+        board.sort(BY_DEPARTURE);
+        return board.stream().map(RouteEntry::response).toList();
+    }
+
+    /**
+     * Applies a new or changed schedule to its day if that day is loaded. The
+     * schedule's flight must be initialized.
+     */
+    public void upsert(FlightSchedule schedule) {
+        Flight flight = schedule.getFlight();
+        RouteEntry entry = new RouteEntry(FlightScheduleResponse.from(schedule), schedule.getVersion());
+        int cell = cell(flight.getOriginAirport(), flight.getDestinationAirport());
+
+        // A load of the same day in progress gets the update applied on top once it completes
+        CompletableFuture<DaySlice> loaded = days.getIfPresent(schedule.getFlightDate());
+        if (loaded != null) {
+            loaded.thenAccept(slice -> {
+                slice.cellOf.put(schedule.getId(), cell);
+                slice.cells.updateAndGet(cell, entries -> withEntry(entries, entry));
+            });
+        }
+    }
+
+    /**
+     * Moves a loaded schedule's available seats by {@code delta} after seats
+     * were claimed (negative) or released (positive). Days still loading read
+     * the row themselves.
+     */
+    public void adjustAvailable(String scheduleId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (CompletableFuture<DaySlice> loaded : days.asMap().values()) {
+            if (!loaded.isDone() || loaded.isCompletedExceptionally()) {
+                continue;
+            }
+            DaySlice slice = loaded.join();
+            Integer cell = slice.cellOf.get(scheduleId);
+            if (cell != null) {
+                slice.cells.updateAndGet(cell, entries -> withSeatDelta(entries, scheduleId, delta));
+                return;
+            }
+        }
+    }
+
+    private DaySlice day(LocalDate date) {
+        try {
+            return days.get(date).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private DaySlice loadDay(LocalDate date) {
+        List<List<RouteEntry>> byCell = new ArrayList<>(SIZE * SIZE);
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            byCell.add(new ArrayList<>());
+        }
+        DaySlice slice = new DaySlice();
+        for (FlightSchedule schedule : flightScheduleRepository.findByFlightDate(date)) {
+            Flight flight = schedule.getFlight();
+            int cell = cell(flight.getOriginAirport(), flight.getDestinationAirport());
+            byCell.get(cell).add(new RouteEntry(FlightScheduleResponse.from(schedule), schedule.getVersion()));
+            slice.cellOf.put(schedule.getId(), cell);
+        }
+
+        for (int i = 0; i < byCell.size(); i++) {
+            List<RouteEntry> entries = byCell.get(i);
+            if (!entries.isEmpty()) {
+                entries.sort(BY_DEPARTURE);
+                slice.cells.set(i, entries.toArray(NO_ENTRIES));
+            }
+        }
+        return slice;
+    }
+
+    private static RouteEntry[] withEntry(RouteEntry[] entries, RouteEntry entry) {
+        String scheduleId = entry.response().getScheduleId();
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].response().getScheduleId().equals(scheduleId)) {
+                if (entries[i].version() > entry.version()) {
+                    return entries;
+                }
+                RouteEntry[] updated = entries.clone();
+                updated[i] = entry;
+                Arrays.sort(updated, BY_DEPARTURE);
+                return updated;
+            }
+        }
+        RouteEntry[] added = Arrays.copyOf(entries, entries.length + 1);
+        added[entries.length] = entry;
+        Arrays.sort(added, BY_DEPARTURE);
+        return added;
+    }
+
+    // Departure order does not change, so the array keeps its order
+    private static RouteEntry[] withSeatDelta(RouteEntry[] entries, String scheduleId, int delta) {
+        for (int i = 0; i < entries.length; i++) {
+            FlightScheduleResponse response = entries[i].response();
+            if (response.getScheduleId().equals(scheduleId)) {
+                int available = Math.max(0, Math.min(response.getTotalSeats(), response.getAvailableSeats() + delta));
+                RouteEntry[] updated = entries.clone();
+                updated[i] = new RouteEntry(response.toBuilder().availableSeats(available).build(), entries[i].version());
+                return updated;
+            }
+        }
+        return entries;
+    }
+
+    private static List<FlightScheduleResponse> responses(RouteEntry[] entries) {
+        return Arrays.stream(entries).map(RouteEntry::response).toList();
+    }
+
+    private static int cell(Airport origin, Airport destination) {
+        return origin.ordinal() * SIZE + destination.ordinal();
+    }
+
+    private record RouteEntry(FlightScheduleResponse response, long version) {
+    }
+
+    private static final class DaySlice {
+        private final AtomicReferenceArray<RouteEntry[]> cells = new AtomicReferenceArray<>(SIZE * SIZE);
+        // Schedule id to its cell, so seat count changes find the entry without a query
+        private final Map<String, Integer> cellOf = new ConcurrentHashMap<>();
+
+        private DaySlice() {
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                cells.set(i, NO_ENTRIES);
+            }
+        }
+    }
+}
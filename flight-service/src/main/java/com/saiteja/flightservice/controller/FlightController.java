@@ -2,10 +2,13 @@ package com.saiteja.flightservice.controller;
 
 import com.saiteja.flightservice.dto.ApiResponse;
 import com.saiteja.flightservice.dto.FlightCreateRequest;
+import com.saiteja.flightservice.dto.FlightPageResponse;
 import com.saiteja.flightservice.dto.FlightResponse;
 import com.saiteja.flightservice.dto.FlightResponseWrapper;
 import com.saiteja.flightservice.exception.BadRequestException;
-import com.saiteja.flightservice.security.JwtUtils;
+import com.saiteja.flightservice.model.enums.Airline;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.security.AuthenticatedUser;
 import com.saiteja.flightservice.service.FlightService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -13,7 +16,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,7 +26,6 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
-    private final JwtUtils jwtUtils;
 
     @GetMapping("/health")
     public String healthCheck(){
@@ -53,6 +54,17 @@ public class FlightController {
         return ResponseEntity.ok(flights);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<FlightPageResponse> getFlightsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Airline airline,
+            @RequestParam(required = false) Airport origin
+    ) {
+        FlightPageResponse page = flightService.getFlightsPage(after, size, airline, origin);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{flightNumber}")
     public ResponseEntity<FlightResponseWrapper> getFlight(@PathVariable String flightNumber) {
         FlightResponseWrapper response = flightService.getFlightByFlightNumber(flightNumber);
@@ -66,19 +78,16 @@ public class FlightController {
     }
 
     private List<String> getRolesFromRequest(HttpServletRequest request) {
-        String jwt = parseJwt(request);
-        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
-            throw new BadRequestException("Invalid or missing authentication token");
-        }
-        return jwtUtils.getRolesFromJwtToken(jwt);
+        return authenticatedUser(request).roles();
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+    // Set by JwtAuthenticationFilter from the gateway's signed identity header
+    private AuthenticatedUser authenticatedUser(HttpServletRequest request) {
+        AuthenticatedUser user = AuthenticatedUser.of(request);
+        if (user == null) {
+            throw new BadRequestException("Invalid or missing authentication token");
         }
-        return null;
+        return user;
     }
 
 }
@@ -1,22 +1,39 @@
 package com.saiteja.flightservice.controller;
 
 import com.saiteja.flightservice.dto.ApiResponse;
+import com.saiteja.flightservice.dto.BatchHoldResult;
+import com.saiteja.flightservice.dto.ConnectionSearchRequest;
+import com.saiteja.flightservice.dto.FareCalendarDay;
+import com.saiteja.flightservice.dto.FareCalendarRequest;
 import com.saiteja.flightservice.dto.FlightScheduleCreateRequest;
 import com.saiteja.flightservice.dto.FlightScheduleResponse;
 import com.saiteja.flightservice.dto.FlightSearchRequest;
+import com.saiteja.flightservice.dto.InventoryImportResponse;
+import com.saiteja.flightservice.dto.ItineraryResponse;
+import com.saiteja.flightservice.dto.RecurringScheduleRequest;
+import com.saiteja.flightservice.dto.RecurringScheduleResponse;
+import com.saiteja.flightservice.dto.SeatHoldResponse;
 import com.saiteja.flightservice.exception.BadRequestException;
-import com.saiteja.flightservice.security.JwtUtils;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.security.AuthenticatedUser;
 import com.saiteja.flightservice.service.FlightScheduleService;
+import com.saiteja.flightservice.service.SeatHoldService;
+import com.saiteja.flightservice.service.impl.ScheduleInventoryImporter;
+import com.saiteja.flightservice.service.impl.ScheduleNdjsonExporter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,7 +43,9 @@ import java.util.List;
 public class FlightScheduleController {
 
     private final FlightScheduleService flightScheduleService;
-    private final JwtUtils jwtUtils;
+    private final SeatHoldService seatHoldService;
+    private final ScheduleNdjsonExporter scheduleNdjsonExporter;
+    private final ScheduleInventoryImporter scheduleInventoryImporter;
 
     @PostMapping("/inventory")
     public ResponseEntity<ApiResponse> addInventory(
@@ -45,6 +64,58 @@ public class FlightScheduleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    //admin creation of a schedule for every matching weekday in a date range
+    @PostMapping("/inventory/recurring")
+    public ResponseEntity<RecurringScheduleResponse> addRecurringInventory(
+            @Valid @RequestBody RecurringScheduleRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        Long userId = getUserIdFromRequest(httpRequest);
+        if (!getRolesFromRequest(httpRequest).contains("ROLE_ADMIN")) {
+            throw new AccessDeniedException("Only administrators can create flight schedules");
+        }
+
+        RecurringScheduleResponse response = flightScheduleService.createRecurringSchedules(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    //admin bulk import of schedules from a CSV or NDJSON body, with a per-row error report
+    @PostMapping(value = "/inventory/import", consumes = {"text/csv", "application/x-ndjson", "application/ndjson"})
+    public ResponseEntity<InventoryImportResponse> importInventory(HttpServletRequest httpRequest) throws IOException {
+        Long userId = getUserIdFromRequest(httpRequest);
+        if (!getRolesFromRequest(httpRequest).contains("ROLE_ADMIN")) {
+            throw new AccessDeniedException("Only administrators can import flight schedules");
+        }
+
+        ScheduleInventoryImporter.Format format = MediaType.parseMediaType(httpRequest.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ScheduleInventoryImporter.Format.CSV
+                : ScheduleInventoryImporter.Format.NDJSON;
+        InventoryImportResponse report = scheduleInventoryImporter.importSchedules(httpRequest.getInputStream(), format, userId);
+        return ResponseEntity.ok(report);
+    }
+
+    //admin export of all schedules as NDJSON, streamed row by row
+    @GetMapping("/export/schedules")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest httpRequest
+    ) {
+        List<String> roles = getRolesFromRequest(httpRequest);
+
+        // Verify user has ADMIN role
+        if (!roles.contains("ROLE_ADMIN")) {
+            throw new AccessDeniedException("Only administrators can export flight schedules");
+        }
+
+        StreamingResponseBody body = out -> scheduleNdjsonExporter.export(out, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"flight-schedules.ndjson\"")
+                .body(body);
+    }
+
     @PostMapping("/search")
     public ResponseEntity<List<FlightScheduleResponse>> searchFlights(@Valid @RequestBody FlightSearchRequest request) {
         List<FlightScheduleResponse> schedules = flightScheduleService.searchFlights(
@@ -55,6 +126,41 @@ public class FlightScheduleController {
         return ResponseEntity.ok(schedules);
     }
 
+    //public connection search: direct, 1-stop and 2-stop itineraries ranked by duration then fare
+    @PostMapping("/search/connections")
+    public ResponseEntity<List<ItineraryResponse>> searchConnections(@Valid @RequestBody ConnectionSearchRequest request) {
+        List<ItineraryResponse> itineraries = flightScheduleService.searchConnections(
+                request.getOriginAirport(),
+                request.getDestinationAirport(),
+                request.getFlightDate(),
+                request.getMaxStops(),
+                request.getPassengers()
+        );
+        return ResponseEntity.ok(itineraries);
+    }
+
+    //public fare calendar: cheapest bookable fare and seats left for every day in the range
+    @PostMapping("/search/fares")
+    public ResponseEntity<List<FareCalendarDay>> getFareCalendar(@Valid @RequestBody FareCalendarRequest request) {
+        List<FareCalendarDay> calendar = flightScheduleService.getFareCalendar(
+                request.getOriginAirport(),
+                request.getDestinationAirport(),
+                request.getFromDate(),
+                request.getToDate()
+        );
+        return ResponseEntity.ok(calendar);
+    }
+
+    //public departures board: every schedule leaving an airport on a date, by departure time
+    @GetMapping("/search/departures/{origin}")
+    public ResponseEntity<List<FlightScheduleResponse>> getDepartures(
+            @PathVariable Airport origin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        LocalDate flightDate = date != null ? date : LocalDate.now();
+        return ResponseEntity.ok(flightScheduleService.getDepartures(origin, flightDate));
+    }
+
     //internal endpoint for booking-service to fetch schedule by id
     @GetMapping("/internal/schedules/{id}")
     public ResponseEntity<FlightScheduleResponse> getScheduleById(@PathVariable String id) {
@@ -76,13 +182,18 @@ public class FlightScheduleController {
         return ResponseEntity.ok(response);
     }
 
-    //internal endpoint for booking-service to release seats
+    //internal endpoint for booking-service to release seats; with a releaseKey, repeating the call releases nothing more
     @PostMapping("/internal/schedules/{id}/release-seats")
     public ResponseEntity<ApiResponse> releaseSeats(
             @PathVariable String id,
+            @RequestParam(required = false) String releaseKey,
             @RequestBody List<String> seatNumbers
     ) {
-        flightScheduleService.releaseSeats(id, seatNumbers);
+        if (releaseKey != null) {
+            seatHoldService.releaseSeats(id, seatNumbers, releaseKey);
+        } else {
+            flightScheduleService.releaseSeats(id, seatNumbers);
+        }
         ApiResponse response = ApiResponse.builder()
                 .message("Seats released successfully")
                 .status("SUCCESS")
@@ -90,12 +201,54 @@ public class FlightScheduleController {
         return ResponseEntity.ok(response);
     }
 
+    //internal endpoint for booking-service to hold seats until the booking is saved
+    @PostMapping("/internal/schedules/{id}/hold-seats")
+    public ResponseEntity<SeatHoldResponse> holdSeats(
+            @PathVariable String id,
+            @RequestBody List<String> seatNumbers
+    ) {
+        SeatHoldResponse hold = seatHoldService.holdSeats(id, seatNumbers);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    //internal endpoint for booking-service to hold several seat groups of one schedule in a single call
+    @PostMapping("/internal/schedules/{id}/hold-seats/batch")
+    public ResponseEntity<List<BatchHoldResult>> holdSeatsBatch(
+            @PathVariable String id,
+            @RequestBody List<List<String>> seatGroups
+    ) {
+        return ResponseEntity.ok(seatHoldService.holdSeatsBatch(id, seatGroups));
+    }
+
+    //internal endpoint for booking-service to confirm several holds of one schedule in a single call
+    @PostMapping("/internal/schedules/{id}/confirm-holds/batch")
+    public ResponseEntity<List<BatchHoldResult>> confirmHoldsBatch(
+            @PathVariable String id,
+            @RequestBody List<String> holdIds
+    ) {
+        return ResponseEntity.ok(seatHoldService.confirmHoldsBatch(id, holdIds));
+    }
+
+    //internal endpoint for booking-service to turn a hold into booked seats
+    @PostMapping("/internal/holds/{holdId}/confirm")
+    public ResponseEntity<SeatHoldResponse> confirmHold(@PathVariable String holdId) {
+        return ResponseEntity.ok(seatHoldService.confirmHold(holdId));
+    }
+
+    //internal endpoint for booking-service to give up a hold early
+    @PostMapping("/internal/holds/{holdId}/release")
+    public ResponseEntity<ApiResponse> releaseHold(@PathVariable String holdId) {
+        seatHoldService.releaseHold(holdId);
+        ApiResponse response = ApiResponse.builder()
+                .message("Seat hold released successfully")
+                .status("SUCCESS")
+                .id(holdId)
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     private Long getUserIdFromRequest(HttpServletRequest request) {
-        String jwt = parseJwt(request);
-        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
-            throw new BadRequestException("Invalid or missing authentication token");
-        }
-        Long userId = jwtUtils.getUserIdFromJwtToken(jwt);
+        Long userId = authenticatedUser(request).userId();
         if (userId == null) {
             throw new BadRequestException("User ID not found in token");
         }
@@ -103,19 +256,16 @@ public class FlightScheduleController {
     }
 
     private List<String> getRolesFromRequest(HttpServletRequest request) {
-        String jwt = parseJwt(request);
-        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
-            throw new BadRequestException("Invalid or missing authentication token");
-        }
-        return jwtUtils.getRolesFromJwtToken(jwt);
+        return authenticatedUser(request).roles();
     }
 
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+    // Set by JwtAuthenticationFilter from the gateway's signed identity header
+    private AuthenticatedUser authenticatedUser(HttpServletRequest request) {
+        AuthenticatedUser user = AuthenticatedUser.of(request);
+        if (user == null) {
+            throw new BadRequestException("Invalid or missing authentication token");
         }
-        return null;
+        return user;
     }
 }
 
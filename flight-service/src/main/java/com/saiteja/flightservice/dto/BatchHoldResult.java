@@ -0,0 +1,19 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchHoldResult {
+    //position of the seat group in the request
+    private int index;
+    //set when the seats were held
+    private SeatHoldResponse hold;
+    //set when they were not
+    private String error;
+}
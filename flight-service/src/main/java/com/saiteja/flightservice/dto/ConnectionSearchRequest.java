@@ -0,0 +1,29 @@
+package com.saiteja.flightservice.dto;
+
+import com.saiteja.flightservice.model.enums.Airport;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ConnectionSearchRequest {
+
+    @NotNull(message = "Origin airport is required")
+    private Airport originAirport;
+
+    @NotNull(message = "Destination airport is required")
+    private Airport destinationAirport;
+
+    @NotNull(message = "Flight date is required")
+    private LocalDate flightDate;
+
+    @Min(value = 0, message = "Max stops cannot be negative")
+    @Max(value = 2, message = "Max stops cannot be more than 2")
+    private int maxStops = 2;
+
+    @Min(value = 1, message = "At least one passenger is required")
+    private int passengers = 1;
+}
@@ -0,0 +1,21 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDay {
+    private LocalDate flightDate;
+    //cheapest fare among scheduled flights that still have seats, null if none
+    private BigDecimal lowestFare;
+    private Long availableSeats;
+    private Long scheduleCount;
+}
@@ -0,0 +1,19 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageResponse {
+    private List<FlightResponse> flights;
+    //pass as "after" to fetch the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
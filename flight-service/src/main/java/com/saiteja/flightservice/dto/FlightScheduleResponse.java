@@ -1,5 +1,7 @@
 package com.saiteja.flightservice.dto;
 
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
 import com.saiteja.flightservice.model.enums.Airport;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +13,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class FlightScheduleResponse {
@@ -28,4 +30,24 @@ public class FlightScheduleResponse {
     private Integer totalSeats;
     private Integer availableSeats;
     private String status;
+
+    public static FlightScheduleResponse from(FlightSchedule schedule) {
+        Flight flight = schedule.getFlight();
+
+        return FlightScheduleResponse.builder()
+                .scheduleId(schedule.getId())
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airline(flight.getAirline().name())
+                .originAirport(flight.getOriginAirport())
+                .destinationAirport(flight.getDestinationAirport())
+                .flightDate(schedule.getFlightDate())
+                .departureTime(schedule.getDepartureTime())
+                .arrivalTime(schedule.getArrivalTime())
+                .fare(schedule.getFare())
+                .totalSeats(schedule.getTotalSeats())
+                .availableSeats(schedule.getAvailableSeats())
+                .status(schedule.getStatus().name())
+                .build();
+    }
 }
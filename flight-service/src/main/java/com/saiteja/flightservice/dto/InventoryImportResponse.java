@@ -0,0 +1,20 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryImportResponse {
+    private long received;
+    private long imported;
+    private long failed;
+    //the first flight.import.max-errors failures, failed is always the full count
+    private List<InventoryRowError> errors;
+}
@@ -0,0 +1,16 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRowError {
+    //1-based line of the uploaded file
+    private long line;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryResponse {
+    private int stops;
+    private LocalDateTime departure;
+    private LocalDateTime arrival;
+    private long durationMinutes;
+    private BigDecimal totalFare;
+    private List<FlightScheduleResponse> legs;
+}
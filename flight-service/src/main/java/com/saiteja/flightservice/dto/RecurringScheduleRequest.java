@@ -0,0 +1,42 @@
+package com.saiteja.flightservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class RecurringScheduleRequest {
+
+    @NotBlank(message = "Flight number is required")
+    private String flightNumber;
+
+    //days the flight operates on, e.g. ["MONDAY", "WEDNESDAY", "FRIDAY"]
+    @NotEmpty(message = "At least one day of week is required")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "From date is required")
+    @FutureOrPresent(message = "From date must be today or future")
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+
+    @NotNull(message = "Departure time is required")
+    private LocalTime departureTime;
+
+    @NotNull(message = "Arrival time is required")
+    private LocalTime arrivalTime;
+
+    @NotNull(message = "Fare is required")
+    @DecimalMin(value = "1.00", message = "Fare must be at least 1.00")
+    private BigDecimal fare;
+}
@@ -0,0 +1,21 @@
+package com.saiteja.flightservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringScheduleResponse {
+    private String flightNumber;
+    private int created;
+    private int skipped;
+    //dates that already had a schedule for the flight and were left alone
+    private List<LocalDate> skippedDates;
+}
@@ -0,0 +1,107 @@
+package com.saiteja.flightservice.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent counterpart of {@link SeatMap}: the same bit layout packed into
+ * 64-bit words that are claimed with CAS, plus an available-seat counter.
+ * Many threads can claim seats of the same schedule without taking a lock.
+ */
+public final class AtomicSeatMap {
+
+    private final CabinLayout layout;
+    private final AtomicLongArray words;
+    private final AtomicInteger availableSeats;
+
+    private AtomicSeatMap(CabinLayout layout, AtomicLongArray words, int availableSeats) {
+        this.layout = layout;
+        this.words = words;
+        this.availableSeats = new AtomicInteger(availableSeats);
+    }
+
+    public static AtomicSeatMap of(SeatMap seatMap, int availableSeats) {
+        byte[] bytes = seatMap.toBytes();
+        long[] packed = new long[(seatMap.getLayout().getCapacity() + 63) >>> 6];
+        for (int i = 0; i < bytes.length; i++) {
+            packed[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return new AtomicSeatMap(seatMap.getLayout(), new AtomicLongArray(packed), availableSeats);
+    }
+
+    public CabinLayout getLayout() {
+        return layout;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats.get();
+    }
+
+    public boolean isOccupied(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Reserves {@code count} seats from the available counter.
+     *
+     * @return false if fewer than {@code count} seats are left
+     */
+    public boolean reserveCount(int count) {
+        int current;
+        do {
+            current = availableSeats.get();
+            if (current < count) {
+                return false;
+            }
+        } while (!availableSeats.compareAndSet(current, current - count));
+        return true;
+    }
+
+    public void restoreCount(int count) {
+        availableSeats.addAndGet(count);
+    }
+
+    /**
+     * @return false if another caller already holds the seat
+     */
+    public boolean claim(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /**
+     * @return false if the seat was not taken
+     */
+    public boolean release(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    /**
+     * Copies the current bits into the {@link SeatMap} storage format. Each
+     * word is read atomically; concurrent claims may land on either side.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[(layout.getCapacity() + 7) >>> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words.get(i >>> 3) >>> ((i & 7) << 3));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,89 @@
+package com.saiteja.flightservice.model;
+
+import java.util.Locale;
+
+/**
+ * Maps seat numbers like "12A" to a dense index in [0, capacity) and back.
+ * Seats are numbered row by row, so row 1 holds indexes 0..abreast-1.
+ */
+public final class CabinLayout {
+
+    // I and J are skipped on widebodies to avoid confusion with 1
+    private static final String NARROWBODY_LETTERS = "ABCDEF";
+    private static final String WIDEBODY_LETTERS = "ABCDEFGHK";
+    private static final String JUMBO_LETTERS = "ABCDEFGHJK";
+
+    private final int capacity;
+    private final String seatLetters;
+
+    private CabinLayout(int capacity, String seatLetters) {
+        this.capacity = capacity;
+        this.seatLetters = seatLetters;
+    }
+
+    public static CabinLayout forCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Seat capacity must be at least 1");
+        }
+        if (capacity <= 240) {
+            return new CabinLayout(capacity, NARROWBODY_LETTERS);
+        }
+        if (capacity <= 350) {
+            return new CabinLayout(capacity, WIDEBODY_LETTERS);
+        }
+        return new CabinLayout(capacity, JUMBO_LETTERS);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsPerRow() {
+        return seatLetters.length();
+    }
+
+    public int getRows() {
+        return (capacity + seatLetters.length() - 1) / seatLetters.length();
+    }
+
+    /**
+     * @return the seat index, or -1 if the seat number does not exist in this cabin
+     */
+    public int indexOf(String seatNumber) {
+        if (seatNumber == null) {
+            return -1;
+        }
+        String seat = seatNumber.trim().toUpperCase(Locale.ROOT);
+        if (seat.length() < 2) {
+            return -1;
+        }
+
+        int column = seatLetters.indexOf(seat.charAt(seat.length() - 1));
+        if (column < 0) {
+            return -1;
+        }
+
+        int row = 0;
+        for (int i = 0; i < seat.length() - 1; i++) {
+            char c = seat.charAt(i);
+            if (c < '0' || c > '9' || row > capacity) {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+        if (row < 1) {
+            return -1;
+        }
+
+        long index = (long) (row - 1) * seatLetters.length() + column;
+        return index < capacity ? (int) index : -1;
+    }
+
+    public String seatNumberAt(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Seat index " + index + " outside cabin of " + capacity);
+        }
+        int row = index / seatLetters.length() + 1;
+        return row + String.valueOf(seatLetters.charAt(index % seatLetters.length()));
+    }
+}
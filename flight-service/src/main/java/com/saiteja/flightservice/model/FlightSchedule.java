@@ -11,8 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
+
 @Entity
 @Table(name = "flight_schedules")
 @EntityListeners(AuditingEntityListener.class)
@@ -57,11 +56,15 @@ public class FlightSchedule {
     @Column(name = "status", nullable = false, length = 20)
     private FlightStatus status;
 
-    @ElementCollection
-    @CollectionTable(name = "flight_schedule_booked_seats", joinColumns = @JoinColumn(name = "schedule_id"))
-    @Column(name = "seat_number", length = 10)
-    @Builder.Default
-    private List<String> bookedSeats = new ArrayList<>();
+    //one bit per seat (see SeatMap), replaces the flight_schedule_booked_seats join table
+    @Column(name = "seat_map")
+    @ToString.Exclude
+    private byte[] seatMap;
+
+    //bumped on every seat change, guards the conditional seat updates
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 
     @Column(name = "created_by_user_id", nullable = true)
     private Long createdByUserId;
@@ -0,0 +1,16 @@
+package com.saiteja.flightservice.model;
+
+/**
+ * Seat columns of one schedule as currently stored, read with a projection so
+ * that every read goes to the database instead of returning a managed entity
+ * from the persistence context.
+ */
+public record ScheduleSeatState(String id, long version, int totalSeats, int availableSeats, byte[] seatMap) {
+
+    public SeatMap toSeatMap() {
+        if (seatMap == null) {
+            throw new IllegalStateException("Flight schedule " + id + " has no seat map");
+        }
+        return SeatMap.fromBytes(CabinLayout.forCapacity(totalSeats), seatMap);
+    }
+}
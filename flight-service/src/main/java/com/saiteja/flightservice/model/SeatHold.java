@@ -0,0 +1,55 @@
+package com.saiteja.flightservice.model;
+
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "seat_holds", indexes = {
+        @Index(name = "idx_seat_holds_status_expires_at", columnList = "status, expires_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private String id;
+
+    @Column(name = "schedule_id", nullable = false, updatable = false)
+    private String scheduleId;
+
+    @Convert(converter = SeatNumbersConverter.class)
+    @Column(name = "seat_numbers", nullable = false, updatable = false, length = 2000)
+    private List<String> seatNumbers;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private HoldStatus status;
+
+    //set on holds made from already booked seats by a keyed release, so repeating the release finds the same hold
+    @Column(name = "release_key", unique = true, updatable = false, length = 36)
+    private String releaseKey;
+
+    //seats go back to the schedule if the hold is still HELD at this time
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,109 @@
+package com.saiteja.flightservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seat occupancy of one schedule, one bit per seat. Persisted as-is in
+ * {@code flight_schedules.seat_map} so a seat change only rewrites that row.
+ * Not thread safe, callers own the instance for the length of a transaction.
+ */
+public final class SeatMap {
+
+    private final CabinLayout layout;
+    private final byte[] bits;
+
+    private SeatMap(CabinLayout layout, byte[] bits) {
+        this.layout = layout;
+        this.bits = bits;
+    }
+
+    public static SeatMap empty(CabinLayout layout) {
+        return new SeatMap(layout, new byte[byteLength(layout.getCapacity())]);
+    }
+
+    /**
+     * Rehydrates a stored map. A missing map is an error rather than an empty
+     * cabin: older schedules get theirs from {@code SeatMapBackfill} at startup,
+     * and treating one as empty would resell its booked seats.
+     */
+    public static SeatMap fromBytes(CabinLayout layout, byte[] stored) {
+        if (stored == null) {
+            throw new IllegalStateException("Seat map is missing");
+        }
+        byte[] bits = new byte[byteLength(layout.getCapacity())];
+        System.arraycopy(stored, 0, bits, 0, Math.min(stored.length, bits.length));
+        return new SeatMap(layout, bits);
+    }
+
+    public static SeatMap of(FlightSchedule schedule) {
+        if (schedule.getSeatMap() == null) {
+            throw new IllegalStateException("Flight schedule " + schedule.getId() + " has no seat map");
+        }
+        return fromBytes(CabinLayout.forCapacity(schedule.getTotalSeats()), schedule.getSeatMap());
+    }
+
+    public CabinLayout getLayout() {
+        return layout;
+    }
+
+    public boolean isOccupied(int index) {
+        checkIndex(index);
+        return (bits[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * @return false if the seat was already taken
+     */
+    public boolean claim(int index) {
+        if (isOccupied(index)) {
+            return false;
+        }
+        bits[index >>> 3] |= (byte) (1 << (index & 7));
+        return true;
+    }
+
+    /**
+     * @return false if the seat was not taken, so releasing twice is harmless
+     */
+    public boolean release(int index) {
+        if (!isOccupied(index)) {
+            return false;
+        }
+        bits[index >>> 3] &= (byte) ~(1 << (index & 7));
+        return true;
+    }
+
+    public int occupiedCount() {
+        int count = 0;
+        for (byte b : bits) {
+            count += Integer.bitCount(b & 0xFF);
+        }
+        return count;
+    }
+
+    public List<String> occupiedSeatNumbers() {
+        List<String> seats = new ArrayList<>();
+        for (int i = 0; i < layout.getCapacity(); i++) {
+            if (isOccupied(i)) {
+                seats.add(layout.seatNumberAt(i));
+            }
+        }
+        return seats;
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(bits, bits.length);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= layout.getCapacity()) {
+            throw new IndexOutOfBoundsException("Seat index " + index + " outside cabin of " + layout.getCapacity());
+        }
+    }
+
+    private static int byteLength(int capacity) {
+        return (capacity + 7) >>> 3;
+    }
+}
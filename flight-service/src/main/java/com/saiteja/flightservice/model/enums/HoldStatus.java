@@ -0,0 +1,8 @@
+package com.saiteja.flightservice.model.enums;
+
+public enum HoldStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
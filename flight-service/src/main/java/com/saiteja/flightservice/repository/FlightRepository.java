@@ -1,8 +1,13 @@
 package com.saiteja.flightservice.repository;
 
+import com.saiteja.flightservice.dto.FlightResponse;
 import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.enums.Airline;
 import com.saiteja.flightservice.model.enums.Airport;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +18,17 @@ public interface FlightRepository extends JpaRepository<Flight,String> {
     Optional<Flight> findByFlightNumber(String flightNumber);
     boolean existsByFlightNumber(String flightNumber);
     List<Flight> findByOriginAirportAndDestinationAirport(Airport origin, Airport destination);
+
+    // Seeks past the last flight number of the previous page on the unique index, no OFFSET scan
+    @Query("SELECT new com.saiteja.flightservice.dto.FlightResponse(" +
+            "f.id, f.flightNumber, f.airline, f.originAirport, f.destinationAirport, f.seatCapacity) " +
+            "FROM Flight f " +
+            "WHERE f.flightNumber > :after " +
+            "AND (:airline IS NULL OR f.airline = :airline) " +
+            "AND (:origin IS NULL OR f.originAirport = :origin) " +
+            "ORDER BY f.flightNumber")
+    List<FlightResponse> findPageAfter(@Param("after") String after,
+                                       @Param("airline") Airline airline,
+                                       @Param("origin") Airport origin,
+                                       Limit limit);
 }
@@ -1,12 +1,21 @@
 package com.saiteja.flightservice.repository;
 
+import com.saiteja.flightservice.dto.FareCalendarDay;
 import com.saiteja.flightservice.model.Flight;
 import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.ScheduleSeatState;
 import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +24,67 @@ public interface FlightScheduleRepository extends JpaRepository<FlightSchedule,
 
     List<FlightSchedule> findByFlightAndFlightDate(Flight flight, LocalDate date);
 
+    @Query("SELECT DISTINCT s.flightDate FROM FlightSchedule s " +
+            "WHERE s.flight = :flight AND s.flightDate BETWEEN :fromDate AND :toDate")
+    List<LocalDate> findFlightDates(@Param("flight") Flight flight,
+                                    @Param("fromDate") LocalDate fromDate,
+                                    @Param("toDate") LocalDate toDate);
+
     Optional<FlightSchedule> findById(String id);
 
+    @EntityGraph(attributePaths = "flight")
+    List<FlightSchedule> findByFlightDate(LocalDate flightDate);
+
+    @EntityGraph(attributePaths = "flight")
     List<FlightSchedule> findByFlightOriginAirportAndFlightDestinationAirportAndFlightDate(
             Airport originAirport,
             Airport destinationAirport,
             LocalDate flightDate
     );
+
+    // One row per day that has schedules on the route; days without any are left out
+    @Query("SELECT new com.saiteja.flightservice.dto.FareCalendarDay(s.flightDate, " +
+            "MIN(CASE WHEN s.status = :bookable AND s.availableSeats > 0 THEN s.fare END), " +
+            "SUM(CASE WHEN s.status = :bookable THEN s.availableSeats ELSE 0 END), " +
+            "COUNT(s)) " +
+            "FROM FlightSchedule s " +
+            "WHERE s.flight.originAirport = :origin AND s.flight.destinationAirport = :destination " +
+            "AND s.flightDate BETWEEN :fromDate AND :toDate " +
+            "GROUP BY s.flightDate ORDER BY s.flightDate")
+    List<FareCalendarDay> findFareCalendar(@Param("origin") Airport origin,
+                                           @Param("destination") Airport destination,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate,
+                                           @Param("bookable") FlightStatus bookable);
+
+    // Always reads the row, unlike findById which returns the entity already in the persistence context
+    @Query("SELECT new com.saiteja.flightservice.model.ScheduleSeatState(" +
+            "s.id, s.version, s.totalSeats, s.availableSeats, s.seatMap) " +
+            "FROM FlightSchedule s WHERE s.id = :id")
+    Optional<ScheduleSeatState> findSeatState(@Param("id") String id);
+
+    // Both seat updates only apply if nobody changed the row since it was read at :version.
+    // Managed schedules are stale afterwards, so pending changes are flushed and the context cleared.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightSchedule s SET s.seatMap = :seatMap, s.availableSeats = s.availableSeats - :seats, " +
+            "s.version = s.version + 1, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.version = :version AND s.availableSeats >= :seats")
+    int claimSeats(@Param("id") String id,
+                   @Param("version") long version,
+                   @Param("seatMap") byte[] seatMap,
+                   @Param("seats") int seats,
+                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightSchedule s SET s.seatMap = :seatMap, s.availableSeats = s.availableSeats + :seats, " +
+            "s.version = s.version + 1, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.version = :version")
+    int returnSeats(@Param("id") String id,
+                    @Param("version") long version,
+                    @Param("seatMap") byte[] seatMap,
+                    @Param("seats") int seats,
+                    @Param("now") LocalDateTime now);
 }
 
@@ -0,0 +1,34 @@
+package com.saiteja.flightservice.repository;
+
+import com.saiteja.flightservice.model.SeatHold;
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+
+    List<SeatHold> findByStatus(HoldStatus status);
+
+    Optional<SeatHold> findByReleaseKey(String releaseKey);
+
+    List<SeatHold> findByStatusAndExpiresAtBeforeOrderByExpiresAt(HoldStatus status, LocalDateTime time, Pageable pageable);
+
+    // Moves a hold out of HELD exactly once; whoever gets 1 back owns the seat change
+    @Transactional
+    @Modifying
+    @Query("UPDATE SeatHold h SET h.status = :to, h.updatedAt = :now WHERE h.id = :id AND h.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") HoldStatus from,
+                   @Param("to") HoldStatus to,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package com.saiteja.flightservice.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * The caller of a request, set as the authentication principal by
+ * {@link JwtAuthenticationFilter}.
+ */
+public record AuthenticatedUser(Long userId, String username, List<String> roles) {
+
+    public AuthenticatedUser {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * Returns the authenticated caller of the request, or {@code null} when it
+     * was not authenticated.
+     */
+    public static AuthenticatedUser of(HttpServletRequest request) {
+        if (request.getUserPrincipal() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+}
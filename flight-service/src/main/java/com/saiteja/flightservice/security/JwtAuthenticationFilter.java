@@ -19,9 +19,11 @@ import java.util.stream.Collectors;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
     
-    public JwtAuthenticationFilter(JwtUtils jwtUtils) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, IdentityHeaderVerifier identityHeaderVerifier) {
         this.jwtUtils = jwtUtils;
+        this.identityHeaderVerifier = identityHeaderVerifier;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
@@ -30,43 +32,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                List<String> roles = jwtUtils.getRolesFromJwtToken(jwt);
-                
-                logger.debug("JWT validated for user: {}, roles: {}", username, roles);
-                
-                List<SimpleGrantedAuthority> authorities = roles.stream()
+            // Requests through the gateway carry its signed identity, the token is only parsed for direct calls
+            AuthenticatedUser user = identityHeaderVerifier.verify(request.getHeader(IdentityHeaderVerifier.HEADER));
+            if (user == null) {
+                user = userFromJwt(request);
+            }
+            if (user != null) {
+                List<SimpleGrantedAuthority> authorities = user.roles().stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
-                
-                // If no roles in token, check Authorization header for roles (from gateway)
-                if (authorities.isEmpty()) {
-                    String rolesHeader = request.getHeader("X-User-Roles");
-                    if (rolesHeader != null && !rolesHeader.isEmpty()) {
-                        authorities = List.of(rolesHeader.split(",")).stream()
-                                .map(role -> new SimpleGrantedAuthority(role.trim()))
-                                .collect(Collectors.toList());
-                    }
-                }
 
                 if (authorities.isEmpty()) {
-                    logger.warn("No authorities found for user: {}", username);
+                    logger.warn("No authorities found for user: {}", user.username());
                 }
 
                 UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(user, null, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.debug("Authentication set for user: {} with authorities: {}", username, authorities);
-            } else {
-                if (jwt == null) {
-                    logger.debug("No JWT token found in request");
-                } else {
-                    logger.warn("JWT token validation failed");
-                }
+                logger.debug("Authentication set for user: {} with authorities: {}", user.username(), authorities);
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage(), e);
@@ -75,6 +60,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser userFromJwt(HttpServletRequest request) {
+        String jwt = parseJwt(request);
+        if (jwt == null) {
+            logger.debug("No JWT token found in request");
+            return null;
+        }
+        AuthenticatedUser user = jwtUtils.verify(jwt);
+        if (user == null) {
+            logger.warn("JWT token validation failed");
+            return null;
+        }
+        logger.debug("JWT validated for user: {}, roles: {}", user.username(), user.roles());
+
+        // If no roles in token, check Authorization header for roles (from gateway)
+        if (user.roles().isEmpty()) {
+            String rolesHeader = request.getHeader("X-User-Roles");
+            if (rolesHeader != null && !rolesHeader.isEmpty()) {
+                List<String> roles = List.of(rolesHeader.split(",")).stream()
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+                return new AuthenticatedUser(user.userId(), user.username(), roles);
+            }
+        }
+        return user;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
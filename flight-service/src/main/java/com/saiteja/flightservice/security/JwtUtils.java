@@ -3,35 +3,77 @@ package com.saiteja.flightservice.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Verifies JWTs sent straight to this service. The key and the thread-safe
+ * parser are built once, and each token is parsed once into an
+ * {@link AuthenticatedUser}. The time spent verifying is recorded in the
+ * {@code auth.verification} timer tagged {@code source=jwt}.
+ */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtParser parser;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret, MeterRegistry meterRegistry) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .build();
+        this.validTimer = verificationTimer(meterRegistry, "jwt", "valid");
+        this.invalidTimer = verificationTimer(meterRegistry, "jwt", "invalid");
     }
 
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    static Timer verificationTimer(MeterRegistry meterRegistry, String source, String outcome) {
+        return Timer.builder("auth.verification")
+                .description("Time spent verifying the caller's identity")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the token's signature and expiry and reads its claims in one
+     * parse. Returns {@code null} when the token is not valid.
+     */
+    public AuthenticatedUser verify(String token) {
+        long start = System.nanoTime();
+        AuthenticatedUser user = parse(token);
+        (user != null ? validTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return user;
+    }
+
+    private AuthenticatedUser parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return new AuthenticatedUser(getUserId(claims), claims.getSubject(), getRoles(claims));
+        } catch (MalformedJwtException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            logger.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT signature is invalid: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("JWT claims string is empty: {}", e.getMessage());
+        }
+        return null;
     }
 
     @SuppressWarnings("unchecked")
-    public List<String> getRolesFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody();
-        
+    private static List<String> getRoles(Claims claims) {
         // Try to get roles from claims (if stored in token)
         Object rolesObj = claims.get("roles");
         if (rolesObj instanceof List) {
@@ -47,10 +89,7 @@ public class JwtUtils {
         return List.of();
     }
 
-    public Long getUserIdFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody();
-        
+    private static Long getUserId(Claims claims) {
         Object userIdObj = claims.get("userId");
         if (userIdObj instanceof Number) {
             return ((Number) userIdObj).longValue();
@@ -58,21 +97,4 @@ public class JwtUtils {
         
         return null;
     }
-
-    public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
-        }
-        return false;
-    }
 }
-
@@ -24,9 +24,12 @@ public class SecurityConfig {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private IdentityHeaderVerifier identityHeaderVerifier;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtils);
+        return new JwtAuthenticationFilter(jwtUtils, identityHeaderVerifier);
     }
 
     @Bean
@@ -39,9 +42,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/v1.0/flight/admin/health").permitAll()
                         .requestMatchers("/api/v1.0/flight/admin/search").permitAll()
+                        .requestMatchers("/api/v1.0/flight/admin/search/**").permitAll()
                         .requestMatchers("/api/v1.0/flight/admin/internal/**").permitAll()
                         .requestMatchers("/api/v1.0/flight/admin/flights/**").hasAnyRole("ADMIN")
                         .requestMatchers("/api/v1.0/flight/admin/inventory").hasAnyRole("ADMIN")
+                        .requestMatchers("/api/v1.0/flight/admin/inventory/**").hasAnyRole("ADMIN")
+                        .requestMatchers("/api/v1.0/flight/admin/export/**").hasAnyRole("ADMIN")
                         .anyRequest().authenticated()
                 );
 
@@ -1,15 +1,23 @@
 package com.saiteja.flightservice.service;
 
 import com.saiteja.flightservice.dto.ApiResponse;
+import com.saiteja.flightservice.dto.FareCalendarDay;
 import com.saiteja.flightservice.dto.FlightScheduleCreateRequest;
 import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.dto.ItineraryResponse;
+import com.saiteja.flightservice.dto.RecurringScheduleRequest;
+import com.saiteja.flightservice.dto.RecurringScheduleResponse;
 import com.saiteja.flightservice.model.enums.Airport;
 
 import java.util.List;
 
 public interface FlightScheduleService {
     ApiResponse createSchedule(FlightScheduleCreateRequest request, Long createdByUserId);
+    RecurringScheduleResponse createRecurringSchedules(RecurringScheduleRequest request, Long createdByUserId);
     List<FlightScheduleResponse> searchFlights(Airport origin, Airport destination, java.time.LocalDate date);
+    List<ItineraryResponse> searchConnections(Airport origin, Airport destination, java.time.LocalDate date, int maxStops, int passengers);
+    List<FareCalendarDay> getFareCalendar(Airport origin, Airport destination, java.time.LocalDate fromDate, java.time.LocalDate toDate);
+    List<FlightScheduleResponse> getDepartures(Airport origin, java.time.LocalDate date);
     FlightScheduleResponse getScheduleById(String id);
     void lockSeats(String scheduleId, List<String> seatNumbers);
     void releaseSeats(String scheduleId, List<String> seatNumbers);
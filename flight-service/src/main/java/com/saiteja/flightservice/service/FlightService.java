@@ -2,14 +2,18 @@ package com.saiteja.flightservice.service;
 
 import com.saiteja.flightservice.dto.ApiResponse;
 import com.saiteja.flightservice.dto.FlightCreateRequest;
+import com.saiteja.flightservice.dto.FlightPageResponse;
 import com.saiteja.flightservice.dto.FlightResponse;
 import com.saiteja.flightservice.dto.FlightResponseWrapper;
+import com.saiteja.flightservice.model.enums.Airline;
+import com.saiteja.flightservice.model.enums.Airport;
 
 import java.util.List;
 
 public interface FlightService {
     ApiResponse createFlight(FlightCreateRequest request);
     List<FlightResponse> getAllFlights();
+    FlightPageResponse getFlightsPage(String after, int size, Airline airline, Airport origin);
     FlightResponseWrapper getFlightByFlightNumber(String flightNumber);
     ApiResponse deleteFlight(String id);
 }
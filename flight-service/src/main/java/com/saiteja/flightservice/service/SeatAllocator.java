@@ -0,0 +1,16 @@
+package com.saiteja.flightservice.service;
+
+import java.util.List;
+
+/**
+ * Claims and releases seats of a schedule. The implementation is picked with
+ * {@code flight.seats.locking-mode}: transactional (default), conditional or in-memory.
+ */
+public interface SeatAllocator {
+    void lockSeats(String scheduleId, List<String> seatNumbers);
+
+    /**
+     * @return how many of the seats were taken and are now free again
+     */
+    int releaseSeats(String scheduleId, List<String> seatNumbers);
+}
@@ -0,0 +1,15 @@
+package com.saiteja.flightservice.service;
+
+import com.saiteja.flightservice.dto.BatchHoldResult;
+import com.saiteja.flightservice.dto.SeatHoldResponse;
+
+import java.util.List;
+
+public interface SeatHoldService {
+    SeatHoldResponse holdSeats(String scheduleId, List<String> seatNumbers);
+    List<BatchHoldResult> holdSeatsBatch(String scheduleId, List<List<String>> seatGroups);
+    SeatHoldResponse confirmHold(String holdId);
+    List<BatchHoldResult> confirmHoldsBatch(String scheduleId, List<String> holdIds);
+    void releaseHold(String holdId);
+    void releaseSeats(String scheduleId, List<String> seatNumbers, String releaseKey);
+}
@@ -0,0 +1,126 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.exception.ConflictException;
+import com.saiteja.flightservice.exception.ResourceNotFoundException;
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.ScheduleSeatState;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optimistic allocator: reads the schedule without locking it and applies the
+ * change with a single conditional UPDATE on (id, version, available_seats).
+ * Losing a race costs a re-read and a short randomized backoff instead of
+ * blocking other bookers on a row lock.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "flight.seats.locking-mode", havingValue = "conditional")
+public class ConditionalUpdateSeatAllocator implements SeatAllocator {
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public ConditionalUpdateSeatAllocator(FlightScheduleRepository flightScheduleRepository,
+                                          @Value("${flight.seats.retry.max-attempts:5}") int maxAttempts,
+                                          @Value("${flight.seats.retry.initial-backoff-ms:5}") long initialBackoffMs,
+                                          @Value("${flight.seats.retry.max-backoff-ms:100}") long maxBackoffMs) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Override
+    public void lockSeats(String scheduleId, List<String> seatNumbers) {
+        int seatsToBook = seatNumbers.size();
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            ScheduleSeatState state = load(scheduleId);
+
+            if (state.availableSeats() < seatsToBook) {
+                throw SeatRequests.notEnoughSeats(state.availableSeats(), seatsToBook);
+            }
+
+            SeatMap seatMap = state.toSeatMap();
+            int[] seatIndexes = SeatRequests.resolveSeatIndexes(seatMap.getLayout(), seatNumbers);
+            for (int i = 0; i < seatIndexes.length; i++) {
+                if (!seatMap.claim(seatIndexes[i])) {
+                    throw SeatRequests.alreadyBooked(seatNumbers.get(i));
+                }
+            }
+
+            int updated = flightScheduleRepository.claimSeats(
+                    scheduleId, state.version(), seatMap.toBytes(), seatsToBook, LocalDateTime.now());
+            if (updated == 1) {
+                return;
+            }
+            backoff(scheduleId, attempt);
+        }
+
+        throw new ConflictException("Seats on this flight are in high demand. Please try again.");
+    }
+
+    @Override
+    public int releaseSeats(String scheduleId, List<String> seatNumbers) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            ScheduleSeatState state = load(scheduleId);
+            SeatMap seatMap = state.toSeatMap();
+            CabinLayout layout = seatMap.getLayout();
+
+            // Only count seats that were actually taken so a repeated release is a no-op
+            int seatsReleased = 0;
+            for (String seatNumber : seatNumbers) {
+                int seatIndex = layout.indexOf(seatNumber);
+                if (seatIndex >= 0 && seatMap.release(seatIndex)) {
+                    seatsReleased++;
+                }
+            }
+            if (seatsReleased == 0) {
+                return 0;
+            }
+
+            int updated = flightScheduleRepository.returnSeats(
+                    scheduleId, state.version(), seatMap.toBytes(), seatsReleased, LocalDateTime.now());
+            if (updated == 1) {
+                return seatsReleased;
+            }
+            backoff(scheduleId, attempt);
+        }
+
+        throw new ConflictException("Could not release seats for schedule " + scheduleId + ". Please try again.");
+    }
+
+    // A fresh read on every attempt; a managed entity would keep the version that just lost
+    private ScheduleSeatState load(String scheduleId) {
+        return flightScheduleRepository.findSeatState(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
+    }
+
+    // Exponential backoff with equal jitter so competing bookers spread out
+    private void backoff(String scheduleId, int attempt) {
+        if (attempt == maxAttempts) {
+            return;
+        }
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        log.debug("Seat update for schedule {} lost a race (attempt {}), retrying in {} ms", scheduleId, attempt, delay);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Seat update was interrupted. Please try again.");
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.dto.ItineraryResponse;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds direct, 1-stop and 2-stop itineraries on the {@link RouteMatrix}.
+ * <p>
+ * Every schedule is a timed edge between two airports, measured in minutes
+ * from the start of the search date, so overnight legs and connections into
+ * the next day line up naturally. Because each route cell is sorted by
+ * departure time, the flights that fit a connection window
+ * ({@code flight.search.connections.min-minutes} to {@code max-minutes} after
+ * landing) are found with a binary search and a short scan instead of a join.
+ */
+@Component
+public class ConnectionPlanner {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Airport[] AIRPORTS = Airport.values();
+
+    private static final Comparator<Itinerary> RANKING = Comparator
+            .comparingLong(Itinerary::duration)
+            .thenComparing(Itinerary::fare)
+            .thenComparingLong(Itinerary::departs);
+
+    private final RouteMatrix routeMatrix;
+    private final int minConnectionMinutes;
+    private final int maxConnectionMinutes;
+    private final int maxResults;
+
+    public ConnectionPlanner(RouteMatrix routeMatrix,
+                             @Value("${flight.search.connections.min-minutes:60}") int minConnectionMinutes,
+                             @Value("${flight.search.connections.max-minutes:360}") int maxConnectionMinutes,
+                             @Value("${flight.search.connections.max-results:50}") int maxResults) {
+        this.routeMatrix = routeMatrix;
+        this.minConnectionMinutes = minConnectionMinutes;
+        this.maxConnectionMinutes = maxConnectionMinutes;
+        this.maxResults = maxResults;
+    }
+
+    public List<ItineraryResponse> plan(Airport origin, Airport destination, LocalDate date, int maxStops, int passengers) {
+        List<Itinerary> found = new ArrayList<>();
+        Search search = new Search(destination, date, maxStops, passengers, found);
+
+        for (Airport next : AIRPORTS) {
+            if (next == origin || (maxStops == 0 && next != destination)) {
+                continue;
+            }
+            for (FlightScheduleResponse schedule : routeMatrix.route(origin, next, date)) {
+                if (search.bookable(schedule)) {
+                    Leg first = Leg.of(schedule, 0);
+                    search.extend(new ArrayList<>(List.of(first)), first, visited(origin, next));
+                }
+            }
+        }
+
+        found.sort(RANKING);
+        return found.stream()
+                .limit(maxResults)
+                .map(itinerary -> itinerary.toResponse(date))
+                .toList();
+    }
+
+    private static long visited(Airport... airports) {
+        long mask = 0;
+        for (Airport airport : airports) {
+            mask |= 1L << airport.ordinal();
+        }
+        return mask;
+    }
+
+    private final class Search {
+        private final Airport destination;
+        private final LocalDate date;
+        private final int maxStops;
+        private final int passengers;
+        private final List<Itinerary> found;
+
+        private Search(Airport destination, LocalDate date, int maxStops, int passengers, List<Itinerary> found) {
+            this.destination = destination;
+            this.date = date;
+            this.maxStops = maxStops;
+            this.passengers = passengers;
+            this.found = found;
+        }
+
+        private boolean bookable(FlightScheduleResponse schedule) {
+            return FlightStatus.SCHEDULED.name().equals(schedule.getStatus())
+                    && schedule.getAvailableSeats() != null
+                    && schedule.getAvailableSeats() >= passengers;
+        }
+
+        private void extend(List<Leg> legs, Leg last, long visited) {
+            Airport at = last.schedule().getDestinationAirport();
+            if (at == destination) {
+                found.add(Itinerary.of(legs));
+                return;
+            }
+            if (legs.size() > maxStops) {
+                return;
+            }
+
+            long earliest = last.arrives() + minConnectionMinutes;
+            long latest = last.arrives() + maxConnectionMinutes;
+            for (Airport next : AIRPORTS) {
+                if ((visited & (1L << next.ordinal())) != 0) {
+                    continue;
+                }
+                // Only the last leg may land at the destination, so prune airports that leave no room for it
+                if (next != destination && legs.size() == maxStops) {
+                    continue;
+                }
+                for (long day = earliest / MINUTES_PER_DAY; day <= latest / MINUTES_PER_DAY; day++) {
+                    List<FlightScheduleResponse> route = routeMatrix.route(at, next, date.plusDays(day));
+                    long dayStart = day * MINUTES_PER_DAY;
+                    for (int i = firstDepartingAt(route, earliest - dayStart); i < route.size(); i++) {
+                        FlightScheduleResponse schedule = route.get(i);
+                        Leg leg = Leg.of(schedule, dayStart);
+                        if (leg.departs() > latest) {
+                            break;
+                        }
+                        if (bookable(schedule)) {
+                            legs.add(leg);
+                            extend(legs, leg, visited | (1L << next.ordinal()));
+                            legs.remove(legs.size() - 1);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // First index whose departure is at or after the given minute of its day
+    private static int firstDepartingAt(List<FlightScheduleResponse> route, long minuteOfDay) {
+        if (minuteOfDay <= 0) {
+            return 0;
+        }
+        int low = 0;
+        int high = route.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minuteOf(route.get(mid).getDepartureTime()) < minuteOfDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record Leg(FlightScheduleResponse schedule, long departs, long arrives) {
+
+        static Leg of(FlightScheduleResponse schedule, long dayStart) {
+            long departs = dayStart + minuteOf(schedule.getDepartureTime());
+            long flying = Math.floorMod(minuteOf(schedule.getArrivalTime()) - minuteOf(schedule.getDepartureTime()), MINUTES_PER_DAY);
+            return new Leg(schedule, departs, departs + flying);
+        }
+    }
+
+    private record Itinerary(List<Leg> legs, long departs, long arrives, BigDecimal fare) {
+
+        static Itinerary of(List<Leg> legs) {
+            BigDecimal fare = BigDecimal.ZERO;
+            for (Leg leg : legs) {
+                fare = fare.add(leg.schedule().getFare());
+            }
+            return new Itinerary(List.copyOf(legs), legs.get(0).departs(), legs.get(legs.size() - 1).arrives(), fare);
+        }
+
+        long duration() {
+            return arrives - departs;
+        }
+
+        ItineraryResponse toResponse(LocalDate date) {
+            return ItineraryResponse.builder()
+                    .stops(legs.size() - 1)
+                    .departure(date.atStartOfDay().plusMinutes(departs))
+                    .arrival(date.atStartOfDay().plusMinutes(arrives))
+                    .durationMinutes(duration())
+                    .totalFare(fare)
+                    .legs(legs.stream().map(Leg::schedule).toList())
+                    .build();
+        }
+    }
+}
@@ -1,34 +1,54 @@
 package com.saiteja.flightservice.service.impl;
 
+import com.saiteja.flightservice.cache.RouteMatrix;
 import com.saiteja.flightservice.dto.ApiResponse;
+import com.saiteja.flightservice.dto.FareCalendarDay;
 import com.saiteja.flightservice.dto.FlightScheduleCreateRequest;
 import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.dto.ItineraryResponse;
+import com.saiteja.flightservice.dto.RecurringScheduleRequest;
+import com.saiteja.flightservice.dto.RecurringScheduleResponse;
 import com.saiteja.flightservice.exception.BadRequestException;
 import com.saiteja.flightservice.exception.ResourceNotFoundException;
+import com.saiteja.flightservice.model.CabinLayout;
 import com.saiteja.flightservice.model.Flight;
 import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.SeatMap;
 import com.saiteja.flightservice.model.enums.Airport;
 import com.saiteja.flightservice.model.enums.FlightStatus;
 import com.saiteja.flightservice.repository.FlightRepository;
 import com.saiteja.flightservice.repository.FlightScheduleRepository;
 import com.saiteja.flightservice.service.FlightScheduleService;
+import com.saiteja.flightservice.service.SeatAllocator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class FlightScheduleServiceImpl implements FlightScheduleService {
 
+    private static final int MAX_CALENDAR_DAYS = 62;
+    private static final int MAX_RECURRENCE_DAYS = 366;
+
     private final FlightScheduleRepository flightScheduleRepository;
     private final FlightRepository flightRepository;
+    private final SeatAllocator seatAllocator;
+    private final RouteMatrix routeMatrix;
+    private final ConnectionPlanner connectionPlanner;
+    private final ScheduleBatchWriter scheduleBatchWriter;
 
     @Override
     public ApiResponse createSchedule(FlightScheduleCreateRequest request, Long createdByUserId) {
@@ -47,11 +67,18 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
                 .fare(request.getFare())
                 .totalSeats(flight.getSeatCapacity())
                 .availableSeats(flight.getSeatCapacity())
+                .seatMap(SeatMap.empty(CabinLayout.forCapacity(flight.getSeatCapacity())).toBytes())
                 .status(FlightStatus.SCHEDULED)
                 .createdByUserId(createdByUserId)
                 .build();
 
         FlightSchedule savedSchedule = flightScheduleRepository.save(schedule);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                routeMatrix.upsert(savedSchedule);
+            }
+        });
 
         return ApiResponse.builder()
                 .message("Flight schedule created successfully for flight: " + flightNumber)
@@ -60,96 +87,126 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
                 .build();
     }
 
+    // Expands the recurrence and writes every new date in one batched insert; dates already scheduled are skipped
     @Override
-    @Transactional(readOnly = true)
-    public List<FlightScheduleResponse> searchFlights(Airport origin, Airport destination, LocalDate date) {
-        List<FlightSchedule> schedules = flightScheduleRepository
-                .findByFlightOriginAirportAndFlightDestinationAirportAndFlightDate(
-                        origin, destination, date
-                );
+    public RecurringScheduleResponse createRecurringSchedules(RecurringScheduleRequest request, Long createdByUserId) {
+        if (request.getToDate().isBefore(request.getFromDate())) {
+            throw new BadRequestException("To date must not be before from date");
+        }
+        long days = ChronoUnit.DAYS.between(request.getFromDate(), request.getToDate()) + 1;
+        if (days > MAX_RECURRENCE_DAYS) {
+            throw new BadRequestException("Recurrence range cannot exceed " + MAX_RECURRENCE_DAYS + " days");
+        }
 
-        // Return empty list instead of throwing exception - more RESTful
-        return schedules.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
+        String flightNumber = request.getFlightNumber().trim().toUpperCase();
+        Flight flight = flightRepository.findByFlightNumber(flightNumber)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Flight not found with number: " + flightNumber
+                ));
 
-    @Override
-    @Transactional(readOnly = true)
-    public FlightScheduleResponse getScheduleById(String id) {
-        FlightSchedule schedule = flightScheduleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + id));
+        Set<LocalDate> existing = new HashSet<>(
+                flightScheduleRepository.findFlightDates(flight, request.getFromDate(), request.getToDate()));
+        List<FlightSchedule> schedules = new ArrayList<>();
+        List<LocalDate> skippedDates = new ArrayList<>();
+        for (LocalDate date = request.getFromDate(); !date.isAfter(request.getToDate()); date = date.plusDays(1)) {
+            if (!request.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                continue;
+            }
+            if (existing.contains(date)) {
+                skippedDates.add(date);
+            } else {
+                schedules.add(ScheduleBatchWriter.newSchedule(flight, date, request.getDepartureTime(),
+                        request.getArrivalTime(), request.getFare(), createdByUserId));
+            }
+        }
+
+        scheduleBatchWriter.insert(schedules);
 
-        return toResponse(schedule);
+        return RecurringScheduleResponse.builder()
+                .flightNumber(flightNumber)
+                .created(schedules.size())
+                .skipped(skippedDates.size())
+                .skippedDates(skippedDates)
+                .build();
     }
 
+    // Served from the in-memory route matrix, which loads a whole day with one query on first use
     @Override
-    public void lockSeats(String scheduleId, List<String> seatNumbers) {
-        FlightSchedule schedule = flightScheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
-
-        int seatsToBook = seatNumbers.size();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FlightScheduleResponse> searchFlights(Airport origin, Airport destination, LocalDate date) {
+        // Return empty list instead of throwing exception - more RESTful
+        return routeMatrix.route(origin, destination, date);
+    }
 
-        if (schedule.getAvailableSeats() < seatsToBook) {
-            throw new BadRequestException("Not enough seats available. Available: " +
-                    schedule.getAvailableSeats() + ", Requested: " + seatsToBook);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ItineraryResponse> searchConnections(Airport origin, Airport destination, LocalDate date,
+                                                     int maxStops, int passengers) {
+        if (origin == destination) {
+            throw new BadRequestException("Origin and destination airports must be different");
         }
+        return connectionPlanner.plan(origin, destination, date, maxStops, passengers);
+    }
 
-        // Use Set for O(1) lookup performance
-        List<String> bookedSeats = schedule.getBookedSeats();
-        Set<String> bookedSeatsSet = new HashSet<>(bookedSeats);
-        
-        // Check for duplicate seat numbers within request
-        Set<String> requestedSeatsSet = new HashSet<>(seatNumbers);
-        if (requestedSeatsSet.size() < seatNumbers.size()) {
-            throw new BadRequestException("Duplicate seat numbers in the request");
+    // One grouped query for the whole range, days without flights are filled in here
+    @Override
+    @Transactional(readOnly = true)
+    public List<FareCalendarDay> getFareCalendar(Airport origin, Airport destination, LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new BadRequestException("To date must not be before from date");
         }
-        
-        for (String seatNumber : seatNumbers) {
-            if (bookedSeatsSet.contains(seatNumber)) {
-                throw new BadRequestException("Seat " + seatNumber + " is already booked");
-            }
+        long days = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        if (days > MAX_CALENDAR_DAYS) {
+            throw new BadRequestException("Fare calendar range cannot exceed " + MAX_CALENDAR_DAYS + " days");
         }
 
-        bookedSeats.addAll(seatNumbers);
-        schedule.setAvailableSeats(schedule.getAvailableSeats() - seatsToBook);
-
-        flightScheduleRepository.save(schedule);
+        Iterator<FareCalendarDay> found = flightScheduleRepository
+                .findFareCalendar(origin, destination, fromDate, toDate, FlightStatus.SCHEDULED)
+                .iterator();
+        FareCalendarDay next = found.hasNext() ? found.next() : null;
+
+        List<FareCalendarDay> calendar = new ArrayList<>((int) days);
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            if (next != null && next.getFlightDate().equals(date)) {
+                calendar.add(next);
+                next = found.hasNext() ? found.next() : null;
+            } else {
+                calendar.add(FareCalendarDay.builder()
+                        .flightDate(date)
+                        .availableSeats(0L)
+                        .scheduleCount(0L)
+                        .build());
+            }
+        }
+        return calendar;
     }
 
     @Override
-    public void releaseSeats(String scheduleId, List<String> seatNumbers) {
-        FlightSchedule schedule = flightScheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FlightScheduleResponse> getDepartures(Airport origin, LocalDate date) {
+        return routeMatrix.departures(origin, date);
+    }
 
-        int seatsToRelease = seatNumbers.size();
-        List<String> bookedSeats = schedule.getBookedSeats();
+    @Override
+    @Transactional(readOnly = true)
+    public FlightScheduleResponse getScheduleById(String id) {
+        FlightSchedule schedule = flightScheduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + id));
 
-        // bookedSeats is always initialized (@Builder.Default), so null check is unnecessary
-        bookedSeats.removeIf(seatNumbers::contains);
-        schedule.setAvailableSeats(schedule.getAvailableSeats() + seatsToRelease);
+        return FlightScheduleResponse.from(schedule);
+    }
 
-        flightScheduleRepository.save(schedule);
+    // Seat changes run in the allocator's own transaction (or none, for the in-memory mode)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void lockSeats(String scheduleId, List<String> seatNumbers) {
+        seatAllocator.lockSeats(scheduleId, seatNumbers);
+        routeMatrix.adjustAvailable(scheduleId, -seatNumbers.size());
     }
 
-    private FlightScheduleResponse toResponse(FlightSchedule schedule) {
-        Flight flight = schedule.getFlight();
-
-        return FlightScheduleResponse.builder()
-                .scheduleId(schedule.getId())
-                .flightId(flight.getId())
-                .flightNumber(flight.getFlightNumber())
-                .airline(flight.getAirline().name())
-                .originAirport(flight.getOriginAirport())
-                .destinationAirport(flight.getDestinationAirport())
-                .flightDate(schedule.getFlightDate())
-                .departureTime(schedule.getDepartureTime())
-                .arrivalTime(schedule.getArrivalTime())
-                .fare(schedule.getFare())
-                .totalSeats(schedule.getTotalSeats())
-                .availableSeats(schedule.getAvailableSeats())
-                .status(schedule.getStatus().name())
-                .build();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void releaseSeats(String scheduleId, List<String> seatNumbers) {
+        routeMatrix.adjustAvailable(scheduleId, seatAllocator.releaseSeats(scheduleId, seatNumbers));
     }
 }
-
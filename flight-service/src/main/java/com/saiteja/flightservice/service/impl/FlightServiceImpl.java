@@ -2,13 +2,18 @@ package com.saiteja.flightservice.service.impl;
 
 import com.saiteja.flightservice.dto.ApiResponse;
 import com.saiteja.flightservice.dto.FlightCreateRequest;
+import com.saiteja.flightservice.dto.FlightPageResponse;
 import com.saiteja.flightservice.dto.FlightResponse;
 import com.saiteja.flightservice.dto.FlightResponseWrapper;
+import com.saiteja.flightservice.exception.BadRequestException;
 import com.saiteja.flightservice.exception.DuplicateResourceException;
 import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.enums.Airline;
+import com.saiteja.flightservice.model.enums.Airport;
 import com.saiteja.flightservice.repository.FlightRepository;
 import com.saiteja.flightservice.service.FlightService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +25,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class FlightServiceImpl implements FlightService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final FlightRepository flightRepository;
 
     @Override
@@ -55,6 +62,29 @@ public class FlightServiceImpl implements FlightService {
                 .collect(Collectors.toList());
     }
 
+    // Projected straight into FlightResponse, one row more than asked tells whether another page exists
+    @Override
+    @Transactional(readOnly = true)
+    public FlightPageResponse getFlightsPage(String after, int size, Airline airline, Airport origin) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        String cursor = after == null ? "" : after.trim().toUpperCase();
+        List<FlightResponse> flights = flightRepository.findPageAfter(cursor, airline, origin, Limit.of(size + 1));
+
+        boolean hasMore = flights.size() > size;
+        if (hasMore) {
+            flights = flights.subList(0, size);
+        }
+
+        return FlightPageResponse.builder()
+                .flights(flights)
+                .nextCursor(hasMore ? flights.get(flights.size() - 1).getFlightNumber() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FlightResponseWrapper getFlightByFlightNumber(String flightNumber) {
@@ -0,0 +1,195 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.exception.ResourceNotFoundException;
+import com.saiteja.flightservice.model.AtomicSeatMap;
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps seat state of every touched schedule in memory and claims seats with
+ * CAS, so a lock never waits on the database. Changed schedules are written
+ * back in JDBC batches every {@code flight.seats.flush-interval-ms}.
+ * <p>
+ * State is loaded from {@code flight_schedules} the first time a schedule is
+ * touched, which is also how a restarted node recovers. The in-memory copy is
+ * authoritative, so this mode needs a single flight-service instance owning
+ * seat writes.
+ * <p>
+ * Schedules whose flight date has passed are dropped from memory every
+ * {@code flight.seats.evict-interval-ms} once their last change is flushed.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "flight.seats.locking-mode", havingValue = "in-memory")
+public class InMemorySeatAllocator implements SeatAllocator {
+
+    private static final String FLUSH_SQL =
+            "UPDATE flight_schedules SET seat_map = ?, available_seats = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int flushBatchSize;
+    private final Clock clock;
+
+    private final Map<String, CachedSeatMap> seatMaps = new ConcurrentHashMap<>();
+    // Changed schedules and the instance that changed, so a change made just as the entry is evicted is still written
+    private final Map<String, AtomicSeatMap> dirtySchedules = new ConcurrentHashMap<>();
+
+    public InMemorySeatAllocator(FlightScheduleRepository flightScheduleRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${flight.seats.flush-batch-size:500}") int flushBatchSize) {
+        this(flightScheduleRepository, jdbcTemplate, flushBatchSize, Clock.systemDefaultZone());
+    }
+
+    InMemorySeatAllocator(FlightScheduleRepository flightScheduleRepository,
+                          JdbcTemplate jdbcTemplate,
+                          int flushBatchSize,
+                          Clock clock) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushBatchSize = flushBatchSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public void lockSeats(String scheduleId, List<String> seatNumbers) {
+        AtomicSeatMap seatMap = seatMapOf(scheduleId);
+        int[] seatIndexes = SeatRequests.resolveSeatIndexes(seatMap.getLayout(), seatNumbers);
+
+        if (!seatMap.reserveCount(seatIndexes.length)) {
+            throw SeatRequests.notEnoughSeats(seatMap.getAvailableSeats(), seatIndexes.length);
+        }
+
+        for (int i = 0; i < seatIndexes.length; i++) {
+            if (!seatMap.claim(seatIndexes[i])) {
+                // Undo the seats this call already took before reporting the conflict
+                for (int j = 0; j < i; j++) {
+                    seatMap.release(seatIndexes[j]);
+                }
+                seatMap.restoreCount(seatIndexes.length);
+                throw SeatRequests.alreadyBooked(seatNumbers.get(i));
+            }
+        }
+
+        dirtySchedules.put(scheduleId, seatMap);
+    }
+
+    @Override
+    public int releaseSeats(String scheduleId, List<String> seatNumbers) {
+        AtomicSeatMap seatMap = seatMapOf(scheduleId);
+        CabinLayout layout = seatMap.getLayout();
+
+        int seatsReleased = 0;
+        for (String seatNumber : seatNumbers) {
+            int seatIndex = layout.indexOf(seatNumber);
+            if (seatIndex >= 0 && seatMap.release(seatIndex)) {
+                seatsReleased++;
+            }
+        }
+
+        if (seatsReleased > 0) {
+            seatMap.restoreCount(seatsReleased);
+            dirtySchedules.put(scheduleId, seatMap);
+        }
+        return seatsReleased;
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seats.flush-interval-ms:200}")
+    public void flush() {
+        List<Map.Entry<String, AtomicSeatMap>> batch = new ArrayList<>(flushBatchSize);
+        Iterator<Map.Entry<String, AtomicSeatMap>> dirty = dirtySchedules.entrySet().iterator();
+        while (dirty.hasNext()) {
+            // Removing before the snapshot means a concurrent change marks the schedule dirty again
+            Map.Entry<String, AtomicSeatMap> change = dirty.next();
+            batch.add(Map.entry(change.getKey(), change.getValue()));
+            dirty.remove();
+            if (batch.size() == flushBatchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Departed flights take no more bookings; drop them once nothing is left to flush
+    @Scheduled(fixedDelayString = "${flight.seats.evict-interval-ms:3600000}")
+    public void evictDeparted() {
+        LocalDate today = LocalDate.now(clock);
+        seatMaps.entrySet().removeIf(entry ->
+                entry.getValue().flightDate().isBefore(today) && !dirtySchedules.containsKey(entry.getKey()));
+    }
+
+    int cachedSchedules() {
+        return seatMaps.size();
+    }
+
+    private void write(List<Map.Entry<String, AtomicSeatMap>> changes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Map.Entry<String, AtomicSeatMap> change : changes) {
+            AtomicSeatMap seatMap = change.getValue();
+            rows.add(new Object[]{seatMap.toBytes(), seatMap.getAvailableSeats(), now, change.getKey()});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush seat state of {} schedules, will retry: {}", changes.size(), e.getMessage());
+            // A newer change already marked dirty wins
+            changes.forEach(change -> dirtySchedules.putIfAbsent(change.getKey(), change.getValue()));
+        }
+    }
+
+    // Loaded outside the map lock so a virtual thread is not pinned on the query; the first load wins
+    private AtomicSeatMap seatMapOf(String scheduleId) {
+        CachedSeatMap cached = seatMaps.get(scheduleId);
+        if (cached != null) {
+            return cached.seatMap();
+        }
+        CachedSeatMap loaded = load(scheduleId);
+        cached = seatMaps.putIfAbsent(scheduleId, loaded);
+        return (cached != null ? cached : loaded).seatMap();
+    }
+
+    private CachedSeatMap load(String scheduleId) {
+        // An unflushed change of an evicted entry is newer than the database row
+        AtomicSeatMap pending = dirtySchedules.get(scheduleId);
+        FlightSchedule schedule = flightScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
+
+        AtomicSeatMap seatMap = pending != null
+                ? pending
+                : AtomicSeatMap.of(SeatMap.of(schedule), schedule.getAvailableSeats());
+        return new CachedSeatMap(seatMap, schedule.getFlightDate());
+    }
+
+    private record CachedSeatMap(AtomicSeatMap seatMap, LocalDate flightDate) {
+    }
+}
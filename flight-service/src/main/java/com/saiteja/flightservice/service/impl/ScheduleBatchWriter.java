@@ -0,0 +1,99 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts many new schedules with JDBC batch inserts of
+ * {@code flight.import.batch-size} rows, in the caller's transaction. Ids are
+ * assigned up front, so nothing has to be read back; the schedules reach the
+ * route matrix once the transaction commits.
+ */
+@Component
+public class ScheduleBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO flight_schedules (id, flight_id, flight_date, departure_time, arrival_time, fare, " +
+            "total_seats, available_seats, status, seat_map, version, created_by_user_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RouteMatrix routeMatrix;
+    private final int batchSize;
+
+    public ScheduleBatchWriter(DataSource dataSource,
+                               RouteMatrix routeMatrix,
+                               @Value("${flight.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.routeMatrix = routeMatrix;
+        this.batchSize = batchSize;
+    }
+
+    public static FlightSchedule newSchedule(Flight flight, LocalDate flightDate, LocalTime departureTime,
+                                             LocalTime arrivalTime, BigDecimal fare, Long createdByUserId) {
+        return FlightSchedule.builder()
+                .id(UUID.randomUUID().toString())
+                .flight(flight)
+                .flightDate(flightDate)
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .fare(fare)
+                .totalSeats(flight.getSeatCapacity())
+                .availableSeats(flight.getSeatCapacity())
+                .seatMap(SeatMap.empty(CabinLayout.forCapacity(flight.getSeatCapacity())).toBytes())
+                .status(FlightStatus.SCHEDULED)
+                .createdByUserId(createdByUserId)
+                .build();
+    }
+
+    public void insert(List<FlightSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, schedules, batchSize, (ps, schedule) -> {
+            ps.setString(1, schedule.getId());
+            ps.setString(2, schedule.getFlight().getId());
+            ps.setObject(3, schedule.getFlightDate());
+            ps.setObject(4, schedule.getDepartureTime());
+            ps.setObject(5, schedule.getArrivalTime());
+            ps.setBigDecimal(6, schedule.getFare());
+            ps.setInt(7, schedule.getTotalSeats());
+            ps.setInt(8, schedule.getAvailableSeats());
+            ps.setString(9, schedule.getStatus().name());
+            ps.setBytes(10, schedule.getSeatMap());
+            ps.setObject(11, schedule.getCreatedByUserId());
+            ps.setObject(12, now);
+            ps.setObject(13, now);
+        });
+
+        List<FlightSchedule> inserted = List.copyOf(schedules);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inserted.forEach(routeMatrix::upsert);
+                }
+            });
+        } else {
+            inserted.forEach(routeMatrix::upsert);
+        }
+    }
+}
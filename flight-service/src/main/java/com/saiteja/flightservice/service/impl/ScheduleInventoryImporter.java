@@ -0,0 +1,207 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saiteja.flightservice.dto.FlightScheduleCreateRequest;
+import com.saiteja.flightservice.dto.InventoryImportResponse;
+import com.saiteja.flightservice.dto.InventoryRowError;
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.repository.FlightRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports flight schedules from a CSV or NDJSON upload.
+ * <p>
+ * The body is read one line at a time. Each row is parsed, validated with the
+ * same constraints as {@link FlightScheduleCreateRequest} and matched to its
+ * flight through a map of all flights loaded once up front. Valid rows are
+ * inserted {@code flight.import.batch-size} at a time through the
+ * {@link ScheduleBatchWriter}, one transaction per chunk, so a large upload never holds more than one
+ * chunk in memory. A row that cannot be imported does not stop the upload:
+ * its line number and reason go into the report.
+ * <p>
+ * CSV columns are {@code flightNumber,flightDate,departureTime,arrivalTime,fare};
+ * a header row with those names is skipped.
+ */
+@Slf4j
+@Component
+public class ScheduleInventoryImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] COLUMNS = {"flightNumber", "flightDate", "departureTime", "arrivalTime", "fare"};
+
+    private final FlightRepository flightRepository;
+    private final ScheduleBatchWriter scheduleBatchWriter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ScheduleInventoryImporter(FlightRepository flightRepository,
+                                     ScheduleBatchWriter scheduleBatchWriter,
+                                     Validator validator,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${flight.import.batch-size:500}") int batchSize,
+                                     @Value("${flight.import.max-errors:1000}") int maxErrors) {
+        this.flightRepository = flightRepository;
+        this.scheduleBatchWriter = scheduleBatchWriter;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public InventoryImportResponse importSchedules(InputStream body, Format format, Long createdByUserId) throws IOException {
+        Map<String, Flight> flights = flightRepository.findAll().stream()
+                .collect(Collectors.toMap(Flight::getFlightNumber, flight -> flight));
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            report.received++;
+            try {
+                chunk.add(toRow(lineNumber, parse(line, format), flights, createdByUserId));
+            } catch (RuntimeException e) {
+                report.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            if (chunk.size() == batchSize) {
+                insert(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk, report);
+        }
+
+        log.info("Imported {} of {} schedule rows, {} failed", report.imported, report.received, report.failed);
+        return InventoryImportResponse.builder()
+                .received(report.received)
+                .imported(report.imported)
+                .failed(report.failed)
+                .errors(report.errors)
+                .build();
+    }
+
+    // Both formats yield the same five text values, which are then converted the same way
+    private FlightScheduleCreateRequest parse(String line, Format format) {
+        String[] values;
+        if (format == Format.NDJSON) {
+            JsonNode json;
+            try {
+                json = objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getMessage());
+            }
+            if (!json.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            values = new String[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                JsonNode value = json.get(COLUMNS[i]);
+                values[i] = value == null || value.isNull() ? "" : value.asText();
+            }
+        } else {
+            values = line.split(",", -1);
+            if (values.length != COLUMNS.length) {
+                throw new IllegalArgumentException("Expected " + COLUMNS.length + " columns but found " + values.length);
+            }
+        }
+
+        FlightScheduleCreateRequest request = new FlightScheduleCreateRequest();
+        try {
+            request.setFlightNumber(values[0].trim());
+            request.setFlightDate(values[1].isBlank() ? null : LocalDate.parse(values[1].trim()));
+            request.setDepartureTime(values[2].isBlank() ? null : LocalTime.parse(values[2].trim()));
+            request.setArrivalTime(values[3].isBlank() ? null : LocalTime.parse(values[3].trim()));
+            request.setFare(values[4].isBlank() ? null : new BigDecimal(values[4].trim()));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getMessage());
+        }
+        return request;
+    }
+
+    private Row toRow(long line, FlightScheduleCreateRequest request, Map<String, Flight> flights, Long createdByUserId) {
+        Set<ConstraintViolation<FlightScheduleCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        String flightNumber = request.getFlightNumber().trim().toUpperCase();
+        Flight flight = flights.get(flightNumber);
+        if (flight == null) {
+            throw new IllegalArgumentException("Flight not found with number: " + flightNumber);
+        }
+
+        return new Row(line, ScheduleBatchWriter.newSchedule(flight, request.getFlightDate(), request.getDepartureTime(),
+                request.getArrivalTime(), request.getFare(), createdByUserId));
+    }
+
+    // A chunk commits or fails as a whole; every row of a failed chunk is reported
+    private void insert(List<Row> chunk, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    scheduleBatchWriter.insert(chunk.stream().map(Row::schedule).toList()));
+        } catch (RuntimeException e) {
+            log.warn("Schedule import chunk of {} rows failed: {}", chunk.size(), e.getMessage());
+            chunk.forEach(row -> report.fail(row.line(), "Could not save schedule: " + e.getMessage()));
+            return;
+        }
+
+        report.imported += chunk.size();
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith("flightnumber");
+    }
+
+    private record Row(long line, FlightSchedule schedule) {
+    }
+
+    private final class Report {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<InventoryRowError> errors = new ArrayList<>();
+
+        private void fail(long line, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(InventoryRowError.builder().line(line).error(error).build());
+            }
+        }
+    }
+}
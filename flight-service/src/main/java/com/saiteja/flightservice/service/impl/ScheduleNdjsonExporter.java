@@ -0,0 +1,112 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes flight schedules as newline-delimited JSON straight from a JDBC
+ * cursor. Rows are fetched {@code flight.export.fetch-size} at a time inside a
+ * read-only transaction (PostgreSQL only streams with auto-commit off) and
+ * each one is written to the output stream as soon as it is read, so memory
+ * use does not grow with the number of rows.
+ */
+@Component
+public class ScheduleNdjsonExporter {
+
+    private static final String EXPORT_SQL =
+            "SELECT s.id, f.flight_number, f.airline, f.origin_airport, f.destination_airport, " +
+            "s.flight_date, s.departure_time, s.arrival_time, s.fare, s.total_seats, s.available_seats, " +
+            "s.status, s.created_at, s.updated_at " +
+            "FROM flight_schedules s JOIN flights f ON f.id = s.flight_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public ScheduleNdjsonExporter(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${flight.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void export(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>(2);
+        if (fromDate != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" s.flight_date >= ?");
+            args.add(Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" s.flight_date <= ?");
+            args.add(Date.valueOf(toDate));
+        }
+
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> writeRow(json, rs), args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeRow(JsonGenerator json, ResultSet rs) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeStringField("scheduleId", rs.getString("id"));
+            json.writeStringField("flightNumber", rs.getString("flight_number"));
+            json.writeStringField("airline", rs.getString("airline"));
+            json.writeStringField("originAirport", rs.getString("origin_airport"));
+            json.writeStringField("destinationAirport", rs.getString("destination_airport"));
+            json.writeStringField("flightDate", text(rs.getDate("flight_date")));
+            json.writeStringField("departureTime", text(rs.getTime("departure_time")));
+            json.writeStringField("arrivalTime", text(rs.getTime("arrival_time")));
+            json.writeNumberField("fare", rs.getBigDecimal("fare"));
+            json.writeNumberField("totalSeats", rs.getInt("total_seats"));
+            json.writeNumberField("availableSeats", rs.getInt("available_seats"));
+            json.writeStringField("status", rs.getString("status"));
+            json.writeStringField("createdAt", text(rs.getTimestamp("created_at")));
+            json.writeStringField("updatedAt", text(rs.getTimestamp("updated_at")));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            // Client went away, abort the cursor instead of reading the rest of the table
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String text(Date date) {
+        return date == null ? null : date.toLocalDate().toString();
+    }
+
+    private static String text(Time time) {
+        return time == null ? null : time.toLocalTime().toString();
+    }
+
+    private static String text(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
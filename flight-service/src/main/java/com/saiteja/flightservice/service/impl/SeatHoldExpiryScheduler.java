@@ -0,0 +1,139 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.model.SeatHold;
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import com.saiteja.flightservice.repository.SeatHoldRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases the seats of holds that were neither confirmed nor released in time.
+ * <p>
+ * Every hold created on this node is queued in a {@link DelayQueue} keyed by its
+ * expiry, so a sweep only touches holds that are actually due and drains them in
+ * batches. Confirmed or released holds stay queued and are skipped when they come
+ * due. Holds created by other nodes, or lost in a restart before the startup
+ * reload, are picked up by a slower query-based backstop.
+ */
+@Slf4j
+@Component
+public class SeatHoldExpiryScheduler {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatAllocator seatAllocator;
+    private final RouteMatrix routeMatrix;
+    private final int batchSize;
+
+    private final DelayQueue<PendingExpiry> pending = new DelayQueue<>();
+
+    public SeatHoldExpiryScheduler(SeatHoldRepository seatHoldRepository,
+                                   SeatAllocator seatAllocator,
+                                   RouteMatrix routeMatrix,
+                                   @Value("${flight.seats.hold.sweep-batch-size:200}") int batchSize) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatAllocator = seatAllocator;
+        this.routeMatrix = routeMatrix;
+        this.batchSize = batchSize;
+    }
+
+    public void track(SeatHold hold) {
+        pending.add(new PendingExpiry(hold.getId(), hold.getExpiresAt()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        List<SeatHold> active = seatHoldRepository.findByStatus(HoldStatus.HELD);
+        active.forEach(this::track);
+        log.info("Tracking {} active seat holds", active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seats.hold.sweep-interval-ms:1000}")
+    public void sweep() {
+        List<PendingExpiry> due = new ArrayList<>(batchSize);
+        while (pending.drainTo(due, batchSize) > 0) {
+            expire(seatHoldRepository.findAllById(due.stream().map(PendingExpiry::holdId).toList()));
+            due.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seats.hold.backstop-interval-ms:60000}")
+    public void sweepUntracked() {
+        List<SeatHold> overdue;
+        int released;
+        do {
+            overdue = seatHoldRepository.findByStatusAndExpiresAtBeforeOrderByExpiresAt(
+                    HoldStatus.HELD, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            released = expire(overdue);
+            // Holds whose release failed are back in HELD and would come first again; leave them to the next run
+        } while (overdue.size() == batchSize && released > 0);
+    }
+
+    /**
+     * @return how many of the holds were expired and had their seats released
+     */
+    private int expire(List<SeatHold> holds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<SeatHold>> expiredBySchedule = new LinkedHashMap<>();
+        for (SeatHold hold : holds) {
+            if (hold.getStatus() == HoldStatus.HELD
+                    && seatHoldRepository.transition(hold.getId(), HoldStatus.HELD, HoldStatus.EXPIRED, now) == 1) {
+                expiredBySchedule.computeIfAbsent(hold.getScheduleId(), id -> new ArrayList<>()).add(hold);
+            }
+        }
+
+        // One allocator call per schedule releases every expired hold on it together
+        int released = 0;
+        for (Map.Entry<String, List<SeatHold>> entry : expiredBySchedule.entrySet()) {
+            String scheduleId = entry.getKey();
+            List<SeatHold> expired = entry.getValue();
+            List<String> seatNumbers = expired.stream()
+                    .flatMap(hold -> hold.getSeatNumbers().stream())
+                    .toList();
+            try {
+                routeMatrix.adjustAvailable(scheduleId, seatAllocator.releaseSeats(scheduleId, seatNumbers));
+                log.info("Released {} seats from {} expired holds on schedule {}", seatNumbers.size(), expired.size(), scheduleId);
+                released += expired.size();
+            } catch (RuntimeException e) {
+                // Put the holds back so the backstop sweep retries them
+                log.error("Failed to release expired holds on schedule {}: {}", scheduleId, e.getMessage());
+                expired.forEach(hold -> seatHoldRepository.transition(
+                        hold.getId(), HoldStatus.EXPIRED, HoldStatus.HELD, LocalDateTime.now()));
+            }
+        }
+        return released;
+    }
+
+    private record PendingExpiry(String holdId, long expiresAtMillis) implements Delayed {
+
+        PendingExpiry(String holdId, LocalDateTime expiresAt) {
+            this(holdId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((PendingExpiry) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.dto.BatchHoldResult;
+import com.saiteja.flightservice.dto.SeatHoldResponse;
+import com.saiteja.flightservice.exception.BadRequestException;
+import com.saiteja.flightservice.exception.ConflictException;
+import com.saiteja.flightservice.exception.ResourceNotFoundException;
+import com.saiteja.flightservice.model.SeatHold;
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import com.saiteja.flightservice.repository.SeatHoldRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import com.saiteja.flightservice.service.SeatHoldService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seats are claimed through the {@link SeatAllocator} when the hold is taken,
+ * so a hold blocks them exactly like a lock. Confirming only flips the hold
+ * status; if nobody confirms before {@code expiresAt} the
+ * {@link SeatHoldExpiryScheduler} gives the seats back.
+ * <p>
+ * Status changes are conditional updates, so confirm, release and expiry can
+ * race on the same hold and exactly one of them wins. Releasing a confirmed
+ * hold (a cancelled booking) gives its seats back the same way.
+ * <p>
+ * Bookings made before seat holds existed are released by seat number. With
+ * a {@code releaseKey} such a release first records the seats as a confirmed
+ * hold carrying that key and then releases the hold, so a repeated release
+ * finds the same hold and cannot free seats that were sold again since.
+ */
+@Slf4j
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatAllocator seatAllocator;
+    private final SeatHoldExpiryScheduler expiryScheduler;
+    private final RouteMatrix routeMatrix;
+    private final long ttlSeconds;
+
+    public SeatHoldServiceImpl(SeatHoldRepository seatHoldRepository,
+                               SeatAllocator seatAllocator,
+                               SeatHoldExpiryScheduler expiryScheduler,
+                               RouteMatrix routeMatrix,
+                               @Value("${flight.seats.hold.ttl-seconds:600}") long ttlSeconds) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatAllocator = seatAllocator;
+        this.expiryScheduler = expiryScheduler;
+        this.routeMatrix = routeMatrix;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public SeatHoldResponse holdSeats(String scheduleId, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new BadRequestException("At least one seat number is required");
+        }
+
+        seatAllocator.lockSeats(scheduleId, seatNumbers);
+        routeMatrix.adjustAvailable(scheduleId, -seatNumbers.size());
+
+        SeatHold hold;
+        try {
+            hold = seatHoldRepository.save(SeatHold.builder()
+                    .scheduleId(scheduleId)
+                    .seatNumbers(seatNumbers)
+                    .status(HoldStatus.HELD)
+                    .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                    .build());
+        } catch (RuntimeException e) {
+            // Without a hold row nothing would ever give these seats back
+            routeMatrix.adjustAvailable(scheduleId, seatAllocator.releaseSeats(scheduleId, seatNumbers));
+            throw e;
+        }
+
+        expiryScheduler.track(hold);
+        return toResponse(hold);
+    }
+
+    // Each group is held on its own so one taken seat fails only its group; the holds are saved in one batch
+    @Override
+    public List<BatchHoldResult> holdSeatsBatch(String scheduleId, List<List<String>> seatGroups) {
+        if (seatGroups == null || seatGroups.isEmpty()) {
+            throw new BadRequestException("At least one seat group is required");
+        }
+
+        List<BatchHoldResult> results = new ArrayList<>(seatGroups.size());
+        List<SeatHold> holds = new ArrayList<>();
+        List<BatchHoldResult> held = new ArrayList<>();
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        for (int i = 0; i < seatGroups.size(); i++) {
+            List<String> seatNumbers = seatGroups.get(i);
+            BatchHoldResult result = BatchHoldResult.builder().index(i).build();
+            results.add(result);
+            if (seatNumbers == null || seatNumbers.isEmpty()) {
+                result.setError("At least one seat number is required");
+                continue;
+            }
+            try {
+                seatAllocator.lockSeats(scheduleId, seatNumbers);
+            } catch (RuntimeException e) {
+                result.setError(e.getMessage());
+                continue;
+            }
+            holds.add(SeatHold.builder()
+                    .scheduleId(scheduleId)
+                    .seatNumbers(seatNumbers)
+                    .status(HoldStatus.HELD)
+                    .expiresAt(expiresAt)
+                    .build());
+            held.add(result);
+        }
+
+        if (!holds.isEmpty()) {
+            try {
+                holds = seatHoldRepository.saveAll(holds);
+            } catch (RuntimeException e) {
+                // Without hold rows nothing would ever give these seats back
+                for (int i = 0; i < holds.size(); i++) {
+                    seatAllocator.releaseSeats(scheduleId, holds.get(i).getSeatNumbers());
+                    held.get(i).setError("Could not record seat hold: " + e.getMessage());
+                }
+                holds = List.of();
+            }
+            int seatsHeld = 0;
+            for (int i = 0; i < holds.size(); i++) {
+                expiryScheduler.track(holds.get(i));
+                held.get(i).setHold(toResponse(holds.get(i)));
+                seatsHeld += holds.get(i).getSeatNumbers().size();
+            }
+            routeMatrix.adjustAvailable(scheduleId, -seatsHeld);
+        }
+        return results;
+    }
+
+    @Override
+    public SeatHoldResponse confirmHold(String holdId) {
+        return confirmHold(findHold(holdId));
+    }
+
+    private SeatHoldResponse confirmHold(SeatHold hold) {
+        String holdId = hold.getId();
+        // A hold past expiresAt that the sweeper has not reached yet still owns its seats, so it can be confirmed
+        if (hold.getStatus() == HoldStatus.HELD
+                && seatHoldRepository.transition(holdId, HoldStatus.HELD, HoldStatus.CONFIRMED, LocalDateTime.now()) == 1) {
+            hold.setStatus(HoldStatus.CONFIRMED);
+            return toResponse(hold);
+        }
+
+        hold = findHold(holdId);
+        return switch (hold.getStatus()) {
+            case CONFIRMED -> toResponse(hold);
+            case EXPIRED -> throw new ConflictException("Seat hold " + holdId + " has expired. Please select your seats again.");
+            case RELEASED -> throw new ConflictException("Seat hold " + holdId + " was released.");
+            case HELD -> throw new ConflictException("Seat hold " + holdId + " is being updated. Please try again.");
+        };
+    }
+
+    // Each hold is confirmed on its own, so an expired or released hold fails only its own entry
+    @Override
+    public List<BatchHoldResult> confirmHoldsBatch(String scheduleId, List<String> holdIds) {
+        if (holdIds == null || holdIds.isEmpty()) {
+            throw new BadRequestException("At least one hold id is required");
+        }
+
+        Map<String, SeatHold> holds = new HashMap<>();
+        seatHoldRepository.findAllById(holdIds).forEach(hold -> holds.put(hold.getId(), hold));
+        List<BatchHoldResult> results = new ArrayList<>(holdIds.size());
+        for (int i = 0; i < holdIds.size(); i++) {
+            BatchHoldResult result = BatchHoldResult.builder().index(i).build();
+            results.add(result);
+            SeatHold hold = holds.get(holdIds.get(i));
+            if (hold == null || !hold.getScheduleId().equals(scheduleId)) {
+                result.setError("Seat hold not found: " + holdIds.get(i));
+                continue;
+            }
+            try {
+                result.setHold(confirmHold(hold));
+            } catch (RuntimeException e) {
+                result.setError(e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void releaseHold(String holdId) {
+        SeatHold hold = findHold(holdId);
+
+        // Releasing twice, or releasing an expired hold, is a no-op
+        LocalDateTime now = LocalDateTime.now();
+        if (seatHoldRepository.transition(holdId, HoldStatus.HELD, HoldStatus.RELEASED, now) == 1
+                || seatHoldRepository.transition(holdId, HoldStatus.CONFIRMED, HoldStatus.RELEASED, now) == 1) {
+            int seatsReleased = seatAllocator.releaseSeats(hold.getScheduleId(), hold.getSeatNumbers());
+            routeMatrix.adjustAvailable(hold.getScheduleId(), seatsReleased);
+            log.info("Released seat hold {} on schedule {}", holdId, hold.getScheduleId());
+        }
+    }
+
+    @Override
+    public void releaseSeats(String scheduleId, List<String> seatNumbers, String releaseKey) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new BadRequestException("At least one seat number is required");
+        }
+
+        SeatHold hold = seatHoldRepository.findByReleaseKey(releaseKey).orElseGet(() -> {
+            try {
+                // The seats are already booked, so the hold is recorded without claiming them again
+                return seatHoldRepository.saveAndFlush(SeatHold.builder()
+                        .scheduleId(scheduleId)
+                        .seatNumbers(seatNumbers)
+                        .status(HoldStatus.CONFIRMED)
+                        .releaseKey(releaseKey)
+                        .expiresAt(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent delivery of the same release recorded it first
+                return seatHoldRepository.findByReleaseKey(releaseKey).orElseThrow(() -> e);
+            }
+        });
+        if (!hold.getScheduleId().equals(scheduleId)) {
+            throw new BadRequestException("Release key " + releaseKey + " was already used for schedule " + hold.getScheduleId());
+        }
+        releaseHold(hold.getId());
+    }
+
+    private SeatHold findHold(String holdId) {
+        return seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat hold not found: " + holdId));
+    }
+
+    private SeatHoldResponse toResponse(SeatHold hold) {
+        return SeatHoldResponse.builder()
+                .holdId(hold.getId())
+                .scheduleId(hold.getScheduleId())
+                .seatNumbers(hold.getSeatNumbers())
+                .status(hold.getStatus().name())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
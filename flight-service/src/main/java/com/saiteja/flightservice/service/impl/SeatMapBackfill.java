@@ -0,0 +1,125 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.SeatMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@code flight_schedules.seat_map} for schedules created before the
+ * seat map existed, from the legacy {@code flight_schedule_booked_seats} join
+ * table. Runs once the beans are created and before the web server takes
+ * requests, so no allocator ever sees a schedule without a seat map.
+ * <p>
+ * Startup fails if a schedule's legacy rows hold fewer seats than its
+ * {@code available_seats} says are sold, or name seats outside its cabin:
+ * starting from an empty cabin would let sold seats be booked again. When the
+ * legacy rows hold more seats, {@code available_seats} is corrected to match.
+ */
+@Slf4j
+@Component
+public class SeatMapBackfill implements SmartInitializingSingleton {
+
+    static final String LEGACY_TABLE = "flight_schedule_booked_seats";
+
+    private static final String UNMAPPED_SQL =
+            "SELECT s.id, s.total_seats, s.available_seats, b.seat_number FROM flight_schedules s " +
+            "LEFT JOIN " + LEGACY_TABLE + " b ON b.schedule_id = s.id WHERE s.seat_map IS NULL";
+    private static final String UNMAPPED_WITHOUT_LEGACY_SQL =
+            "SELECT id, total_seats, available_seats, NULL AS seat_number FROM flight_schedules WHERE seat_map IS NULL";
+    private static final String UPDATE_SQL =
+            "UPDATE flight_schedules SET seat_map = ?, available_seats = ?, version = version + 1 " +
+            "WHERE id = ? AND seat_map IS NULL";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SeatMapBackfill(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> backfill());
+    }
+
+    void backfill() {
+        Map<String, Unmapped> unmapped = new LinkedHashMap<>();
+        List<String> problems = new ArrayList<>();
+        String sql = legacyTableExists() ? UNMAPPED_SQL : UNMAPPED_WITHOUT_LEGACY_SQL;
+
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            String id = rs.getString("id");
+            Unmapped schedule = unmapped.get(id);
+            if (schedule == null) {
+                int totalSeats = rs.getInt("total_seats");
+                schedule = new Unmapped(SeatMap.empty(CabinLayout.forCapacity(totalSeats)),
+                        totalSeats - rs.getInt("available_seats"));
+                unmapped.put(id, schedule);
+            }
+            String seatNumber = rs.getString("seat_number");
+            if (seatNumber != null) {
+                int index = schedule.seatMap().getLayout().indexOf(seatNumber);
+                if (index < 0) {
+                    problems.add(id + " has booked seat " + seatNumber + " outside its cabin");
+                } else {
+                    schedule.seatMap().claim(index);
+                }
+            }
+        });
+        if (unmapped.isEmpty()) {
+            return;
+        }
+
+        unmapped.forEach((id, schedule) -> {
+            int occupied = schedule.seatMap().occupiedCount();
+            if (occupied < schedule.soldSeats()) {
+                problems.add(id + " has " + schedule.soldSeats() + " seats sold but only " + occupied
+                        + " booked seat numbers");
+            } else if (occupied > schedule.soldSeats()) {
+                log.warn("Schedule {} lists {} booked seats but available_seats implies {}, correcting available_seats",
+                        id, occupied, schedule.soldSeats());
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Cannot build seat maps for " + problems.size()
+                    + " schedule(s), fix " + LEGACY_TABLE + " first: "
+                    + String.join("; ", problems.subList(0, Math.min(problems.size(), MAX_REPORTED))));
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, List.copyOf(unmapped.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            SeatMap seatMap = entry.getValue().seatMap();
+            ps.setBytes(1, seatMap.toBytes());
+            ps.setInt(2, seatMap.getLayout().getCapacity() - seatMap.occupiedCount());
+            ps.setString(3, entry.getKey());
+        });
+        log.info("Built seat maps for {} schedules from {}", unmapped.size(), LEGACY_TABLE);
+    }
+
+    private boolean legacyTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, LEGACY_TABLE, new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+
+    private record Unmapped(SeatMap seatMap, int soldSeats) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.exception.BadRequestException;
+import com.saiteja.flightservice.model.CabinLayout;
+
+import java.util.BitSet;
+import java.util.List;
+
+// Validation shared by the seat allocators
+final class SeatRequests {
+
+    private SeatRequests() {
+    }
+
+    static int[] resolveSeatIndexes(CabinLayout layout, List<String> seatNumbers) {
+        int[] seatIndexes = new int[seatNumbers.size()];
+        BitSet requestedSeats = new BitSet(layout.getCapacity());
+        for (int i = 0; i < seatIndexes.length; i++) {
+            int seatIndex = layout.indexOf(seatNumbers.get(i));
+            if (seatIndex < 0) {
+                throw new BadRequestException("Invalid seat number: " + seatNumbers.get(i));
+            }
+            // Check for duplicate seat numbers within request
+            if (requestedSeats.get(seatIndex)) {
+                throw new BadRequestException("Duplicate seat numbers in the request");
+            }
+            requestedSeats.set(seatIndex);
+            seatIndexes[i] = seatIndex;
+        }
+        return seatIndexes;
+    }
+
+    static BadRequestException notEnoughSeats(int available, int requested) {
+        return new BadRequestException("Not enough seats available. Available: " +
+                available + ", Requested: " + requested);
+    }
+
+    static BadRequestException alreadyBooked(String seatNumber) {
+        return new BadRequestException("Seat " + seatNumber + " is already booked");
+    }
+}
@@ -0,0 +1,86 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.exception.ResourceNotFoundException;
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Default allocator: read-modify-write of the schedule row inside one JPA transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@ConditionalOnProperty(name = "flight.seats.locking-mode", havingValue = "transactional", matchIfMissing = true)
+public class TransactionalSeatAllocator implements SeatAllocator {
+
+    private final FlightScheduleRepository flightScheduleRepository;
+
+    @Override
+    public void lockSeats(String scheduleId, List<String> seatNumbers) {
+        FlightSchedule schedule = flightScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
+
+        int seatsToBook = seatNumbers.size();
+
+        if (schedule.getAvailableSeats() < seatsToBook) {
+            throw SeatRequests.notEnoughSeats(schedule.getAvailableSeats(), seatsToBook);
+        }
+
+        SeatMap seatMap = seatMapOf(schedule);
+        int[] seatIndexes = SeatRequests.resolveSeatIndexes(seatMap.getLayout(), seatNumbers);
+
+        for (int i = 0; i < seatIndexes.length; i++) {
+            if (seatMap.isOccupied(seatIndexes[i])) {
+                throw SeatRequests.alreadyBooked(seatNumbers.get(i));
+            }
+        }
+
+        for (int seatIndex : seatIndexes) {
+            seatMap.claim(seatIndex);
+        }
+        schedule.setSeatMap(seatMap.toBytes());
+        schedule.setAvailableSeats(schedule.getAvailableSeats() - seatsToBook);
+
+        flightScheduleRepository.save(schedule);
+    }
+
+    @Override
+    public int releaseSeats(String scheduleId, List<String> seatNumbers) {
+        FlightSchedule schedule = flightScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight schedule not found: " + scheduleId));
+
+        SeatMap seatMap = seatMapOf(schedule);
+        CabinLayout layout = seatMap.getLayout();
+
+        // Only count seats that were actually taken so a repeated release is a no-op
+        int seatsReleased = 0;
+        for (String seatNumber : seatNumbers) {
+            int seatIndex = layout.indexOf(seatNumber);
+            if (seatIndex >= 0 && seatMap.release(seatIndex)) {
+                seatsReleased++;
+            }
+        }
+
+        if (seatsReleased == 0) {
+            return 0;
+        }
+        schedule.setSeatMap(seatMap.toBytes());
+        schedule.setAvailableSeats(schedule.getAvailableSeats() + seatsReleased);
+
+        flightScheduleRepository.save(schedule);
+        return seatsReleased;
+    }
+
+    private SeatMap seatMapOf(FlightSchedule schedule) {
+        return SeatMap.of(schedule);
+    }
+}
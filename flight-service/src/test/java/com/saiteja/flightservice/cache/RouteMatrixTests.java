@@ -0,0 +1,149 @@
+package com.saiteja.flightservice.cache;
+
+import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.enums.Airline;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class RouteMatrixTests {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 15);
+
+    private final FlightScheduleRepository repository = mock(FlightScheduleRepository.class);
+    private final RouteMatrix matrix = new RouteMatrix(repository, 10, 60);
+
+    @Test
+    void route_loadsDayOnceAndSortsByDeparture() {
+        when(repository.findByFlightDate(DATE)).thenReturn(List.of(
+                schedule("late", Airport.HYD, Airport.DEL, "18:00", 0),
+                schedule("early", Airport.HYD, Airport.DEL, "06:30", 0),
+                schedule("other", Airport.BOM, Airport.DEL, "07:00", 0)));
+
+        assertEquals(List.of("early", "late"), ids(matrix.route(Airport.HYD, Airport.DEL, DATE)));
+        assertEquals(List.of(), ids(matrix.route(Airport.DEL, Airport.HYD, DATE)));
+        verify(repository, times(1)).findByFlightDate(DATE);
+    }
+
+    @Test
+    void departures_mergesEveryDestinationOfTheOrigin() {
+        when(repository.findByFlightDate(DATE)).thenReturn(List.of(
+                schedule("del", Airport.HYD, Airport.DEL, "09:00", 0),
+                schedule("blr", Airport.HYD, Airport.BLR, "05:45", 0),
+                schedule("maa", Airport.HYD, Airport.MAA, "12:10", 0),
+                schedule("inbound", Airport.BLR, Airport.HYD, "08:00", 0)));
+
+        assertEquals(List.of("blr", "del", "maa"), ids(matrix.departures(Airport.HYD, DATE)));
+    }
+
+    @Test
+    void upsert_replacesScheduleButIgnoresOlderVersions() {
+        when(repository.findByFlightDate(DATE)).thenReturn(List.of(schedule("s1", Airport.HYD, Airport.DEL, "09:00", 3)));
+        matrix.route(Airport.HYD, Airport.DEL, DATE);
+
+        FlightSchedule booked = schedule("s1", Airport.HYD, Airport.DEL, "09:00", 4);
+        booked.setAvailableSeats(170);
+        matrix.upsert(booked);
+
+        matrix.upsert(schedule("s1", Airport.HYD, Airport.DEL, "09:00", 3));
+        matrix.upsert(schedule("s2", Airport.HYD, Airport.DEL, "07:00", 0));
+
+        List<FlightScheduleResponse> route = matrix.route(Airport.HYD, Airport.DEL, DATE);
+        assertEquals(List.of("s2", "s1"), ids(route));
+        assertEquals(170, route.get(1).getAvailableSeats());
+    }
+
+    @Test
+    void adjustAvailable_movesSeatCountWithoutQuerying() {
+        when(repository.findByFlightDate(DATE)).thenReturn(List.of(
+                schedule("s1", Airport.HYD, Airport.DEL, "09:00", 0),
+                schedule("s2", Airport.HYD, Airport.DEL, "11:00", 0)));
+        matrix.route(Airport.HYD, Airport.DEL, DATE);
+
+        matrix.adjustAvailable("s1", -3);
+        matrix.adjustAvailable("s1", 1);
+        matrix.adjustAvailable("s2", 5);
+        matrix.adjustAvailable("unknown", -1);
+
+        List<FlightScheduleResponse> route = matrix.route(Airport.HYD, Airport.DEL, DATE);
+        assertEquals(178, route.get(0).getAvailableSeats());
+        // Never above the cabin size
+        assertEquals(180, route.get(1).getAvailableSeats());
+        verify(repository, times(1)).findByFlightDate(DATE);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void route_doesNotPinVirtualThreadsWhileADayLoads(@TempDir Path dir) throws Exception {
+        when(repository.findByFlightDate(DATE)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return List.of(schedule("s1", Airport.HYD, Airport.DEL, "09:00", 0));
+        });
+
+        Path dump = dir.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 20; i++) {
+                    requests.submit(() -> matrix.route(Airport.HYD, Airport.DEL, DATE));
+                }
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertTrue(RecordingFile.readAllEvents(dump).isEmpty(), "virtual thread pinned while loading a day");
+        verify(repository, times(1)).findByFlightDate(DATE);
+    }
+
+    private static List<String> ids(List<FlightScheduleResponse> schedules) {
+        return schedules.stream().map(FlightScheduleResponse::getScheduleId).toList();
+    }
+
+    private static FlightSchedule schedule(String id, Airport origin, Airport destination, String departure, long version) {
+        Flight flight = Flight.builder()
+                .id("flight-" + origin + destination)
+                .flightNumber("AI" + origin.ordinal() + destination.ordinal())
+                .airline(Airline.AIR_INDIA)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .seatCapacity(180)
+                .build();
+        return FlightSchedule.builder()
+                .id(id)
+                .flight(flight)
+                .flightDate(DATE)
+                .departureTime(LocalTime.parse(departure))
+                .arrivalTime(LocalTime.parse(departure).plusHours(2))
+                .fare(new BigDecimal("4500.00"))
+                .totalSeats(180)
+                .availableSeats(180)
+                .status(FlightStatus.SCHEDULED)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.saiteja.flightservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtomicSeatMapTests {
+
+    @Test
+    void of_keepsSeatMapBitLayout() {
+        CabinLayout layout = CabinLayout.forCapacity(320);
+        SeatMap seatMap = SeatMap.empty(layout);
+        seatMap.claim(layout.indexOf("1A"));
+        seatMap.claim(layout.indexOf("8B"));
+        seatMap.claim(layout.indexOf("36E"));
+
+        AtomicSeatMap atomic = AtomicSeatMap.of(seatMap, 317);
+
+        assertTrue(atomic.isOccupied(layout.indexOf("8B")));
+        assertFalse(atomic.isOccupied(layout.indexOf("8C")));
+        assertArrayEquals(seatMap.toBytes(), atomic.toBytes());
+    }
+
+    @Test
+    void reserveCount_neverGoesBelowZero() {
+        AtomicSeatMap atomic = AtomicSeatMap.of(SeatMap.empty(CabinLayout.forCapacity(6)), 2);
+
+        assertTrue(atomic.reserveCount(2));
+        assertFalse(atomic.reserveCount(1));
+        atomic.restoreCount(1);
+        assertEquals(1, atomic.getAvailableSeats());
+    }
+
+    @Test
+    void claim_grantsEachSeatToExactlyOneThread() throws Exception {
+        CabinLayout layout = CabinLayout.forCapacity(300);
+        AtomicSeatMap atomic = AtomicSeatMap.of(SeatMap.empty(layout), 300);
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int seat = 0; seat < layout.getCapacity(); seat++) {
+                        if (atomic.claim(seat)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(300, granted.get());
+        assertEquals(300, SeatMap.fromBytes(layout, atomic.toBytes()).occupiedCount());
+    }
+}
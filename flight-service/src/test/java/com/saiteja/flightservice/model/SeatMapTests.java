@@ -0,0 +1,65 @@
+package com.saiteja.flightservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTests {
+
+    @Test
+    void layout_mapsSeatNumbersToDenseIndexes() {
+        CabinLayout narrow = CabinLayout.forCapacity(180);
+        assertEquals(0, narrow.indexOf("1A"));
+        assertEquals(11, narrow.indexOf(" 2f "));
+        assertEquals(179, narrow.indexOf("30F"));
+        assertEquals("30F", narrow.seatNumberAt(179));
+
+        CabinLayout wide = CabinLayout.forCapacity(320);
+        assertEquals(9, wide.getSeatsPerRow());
+        assertEquals(8, wide.indexOf("1K"));
+        assertEquals("36E", wide.seatNumberAt(319));
+    }
+
+    @Test
+    void layout_rejectsSeatsOutsideCabin() {
+        CabinLayout layout = CabinLayout.forCapacity(10);
+        assertEquals(-1, layout.indexOf("2F"));
+        assertEquals(-1, layout.indexOf("0A"));
+        assertEquals(-1, layout.indexOf("1Z"));
+        assertEquals(-1, layout.indexOf("A1"));
+        assertEquals(-1, layout.indexOf("99999999999A"));
+        assertEquals(-1, layout.indexOf(null));
+    }
+
+    @Test
+    void claimAndRelease_areIdempotentAndSurviveRoundTrip() {
+        CabinLayout layout = CabinLayout.forCapacity(300);
+        SeatMap seatMap = SeatMap.empty(layout);
+
+        assertTrue(seatMap.claim(layout.indexOf("1A")));
+        assertFalse(seatMap.claim(layout.indexOf("1A")));
+        assertTrue(seatMap.claim(layout.indexOf("34C")));
+
+        SeatMap reloaded = SeatMap.fromBytes(layout, seatMap.toBytes());
+        assertEquals(2, reloaded.occupiedCount());
+        assertEquals(List.of("1A", "34C"), reloaded.occupiedSeatNumbers());
+
+        assertTrue(reloaded.release(layout.indexOf("34C")));
+        assertFalse(reloaded.release(layout.indexOf("34C")));
+        assertEquals(1, reloaded.occupiedCount());
+    }
+
+    @Test
+    void fromBytes_rejectsMissingColumnInsteadOfAssumingEmptyCabin() {
+        assertThrows(IllegalStateException.class, () -> SeatMap.fromBytes(CabinLayout.forCapacity(180), null));
+
+        FlightSchedule legacy = FlightSchedule.builder().id("s-1").totalSeats(180).availableSeats(170).build();
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> SeatMap.of(legacy));
+        assertTrue(error.getMessage().contains("s-1"));
+    }
+}
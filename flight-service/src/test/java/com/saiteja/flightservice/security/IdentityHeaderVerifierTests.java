@@ -0,0 +1,71 @@
+package com.saiteja.flightservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdentityHeaderVerifierTests {
+
+    private static final String SECRET = "identity-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final IdentityHeaderVerifier verifier =
+            new IdentityHeaderVerifier(SECRET, new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void verify_readsSignedIdentity() {
+        AuthenticatedUser user = verifier.verify(sign(SECRET, NOW.getEpochSecond() + 60 + "|42|ROLE_USER,ROLE_ADMIN|alice"));
+
+        assertEquals(new AuthenticatedUser(42L, "alice", List.of("ROLE_USER", "ROLE_ADMIN")), user);
+    }
+
+    @Test
+    void verify_keepsSeparatorsInUsername() {
+        AuthenticatedUser user = verifier.verify(sign(SECRET, NOW.getEpochSecond() + 60 + "||ROLE_USER|a|b"));
+
+        assertNull(user.userId());
+        assertEquals("a|b", user.username());
+    }
+
+    @Test
+    void verify_rejectsForgedExpiredAndMalformedHeaders() {
+        String payload = NOW.getEpochSecond() + 60 + "|42|ROLE_ADMIN|alice";
+
+        assertNull(verifier.verify(sign("other-secret", payload)));
+        assertNull(verifier.verify(sign(SECRET, NOW.getEpochSecond() + "|42|ROLE_ADMIN|alice")));
+        assertNull(verifier.verify(sign(SECRET, payload).replace('.', 'x')));
+        assertNull(verifier.verify(sign(SECRET, "soon|42|ROLE_ADMIN|alice")));
+        assertNull(verifier.verify("%%%.%%%"));
+        assertNull(verifier.verify(null));
+
+        String[] parts = sign(SECRET, payload).split("\\.");
+        String tampered = encode((NOW.getEpochSecond() + 60 + "|43|ROLE_ADMIN|alice").getBytes(StandardCharsets.UTF_8));
+        assertNull(verifier.verify(tampered + "." + parts[1]));
+    }
+
+    private static String sign(String secret, String payload) {
+        try {
+            String encoded = encode(payload.getBytes(StandardCharsets.UTF_8));
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return encoded + "." + encode(mac.doFinal(encoded.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
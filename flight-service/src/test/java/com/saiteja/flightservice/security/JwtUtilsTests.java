@@ -0,0 +1,53 @@
+package com.saiteja.flightservice.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtUtilsTests {
+
+    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtils jwtUtils = new JwtUtils(Base64.getEncoder().encodeToString(key.getEncoded()), meterRegistry);
+
+    @Test
+    void verify_readsIdentityInOneParse() {
+        String token = token(key, Instant.now().plusSeconds(3600));
+
+        assertEquals(new AuthenticatedUser(7L, "alice", List.of("ROLE_ADMIN")), jwtUtils.verify(token));
+        assertEquals(1, timerCount("valid"));
+    }
+
+    @Test
+    void verify_rejectsForgedExpiredAndMalformedTokens() {
+        assertNull(jwtUtils.verify(token(Keys.secretKeyFor(SignatureAlgorithm.HS256), Instant.now().plusSeconds(3600))));
+        assertNull(jwtUtils.verify(token(key, Instant.now().minusSeconds(60))));
+        assertNull(jwtUtils.verify("not-a-jwt"));
+        assertEquals(3, timerCount("invalid"));
+    }
+
+    private long timerCount(String outcome) {
+        return meterRegistry.get("auth.verification").tag("source", "jwt").tag("outcome", outcome).timer().count();
+    }
+
+    private static String token(Key key, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("alice")
+                .claim("userId", 7)
+                .claim("roles", List.of("ROLE_ADMIN"))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
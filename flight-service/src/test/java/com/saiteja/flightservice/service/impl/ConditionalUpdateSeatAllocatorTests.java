@@ -0,0 +1,99 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.ScheduleSeatState;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionalUpdateSeatAllocatorTests {
+
+    private static final int BOOKERS = 4;
+
+    private final FlightScheduleRepository repository = mock(FlightScheduleRepository.class);
+    private final StoredRow row = new StoredRow(SeatMap.empty(CabinLayout.forCapacity(180)).toBytes(), 180);
+
+    @Test
+    void lockSeats_retryWinsAfterLosingRaceForTheSameVersion() throws Exception {
+        // Every booker's first read returns version 0, so all but one lose their first update
+        CountDownLatch firstReads = new CountDownLatch(BOOKERS);
+        AtomicInteger reads = new AtomicInteger();
+        when(repository.findSeatState("s-1")).thenAnswer(inv -> {
+            ScheduleSeatState state = row.read();
+            if (reads.incrementAndGet() <= BOOKERS) {
+                firstReads.countDown();
+                firstReads.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(state);
+        });
+        when(repository.claimSeats(eq("s-1"), anyLong(), any(), anyInt(), any())).thenAnswer(inv ->
+                row.update(inv.getArgument(1), inv.getArgument(2), -inv.<Integer>getArgument(3)));
+
+        ConditionalUpdateSeatAllocator allocator = new ConditionalUpdateSeatAllocator(repository, BOOKERS + 1, 1, 2);
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKERS);
+        try {
+            List<Future<?>> bookings = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                String seat = (i + 1) + "A";
+                bookings.add(pool.submit(() -> allocator.lockSeats("s-1", List.of(seat))));
+            }
+            for (Future<?> booking : bookings) {
+                booking.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ScheduleSeatState stored = row.read();
+        assertTrue(reads.get() > BOOKERS, "losers should have re-read the row");
+        assertEquals(BOOKERS, stored.version());
+        assertEquals(180 - BOOKERS, stored.availableSeats());
+        assertEquals(List.of("1A", "2A", "3A", "4A"), stored.toSeatMap().occupiedSeatNumbers());
+    }
+
+    // The flight_schedules row, updated only when the caller read the current version
+    private static final class StoredRow {
+
+        private byte[] seatMap;
+        private int availableSeats;
+        private long version;
+
+        StoredRow(byte[] seatMap, int availableSeats) {
+            this.seatMap = seatMap;
+            this.availableSeats = availableSeats;
+        }
+
+        synchronized ScheduleSeatState read() {
+            return new ScheduleSeatState("s-1", version, 180, availableSeats, seatMap.clone());
+        }
+
+        synchronized int update(long expectedVersion, byte[] newSeatMap, int seatDelta) {
+            if (version != expectedVersion) {
+                return 0;
+            }
+            seatMap = newSeatMap;
+            availableSeats += seatDelta;
+            version++;
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.dto.FlightScheduleResponse;
+import com.saiteja.flightservice.dto.ItineraryResponse;
+import com.saiteja.flightservice.model.Flight;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.enums.Airline;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionPlannerTests {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 15);
+
+    private final FlightScheduleRepository repository = mock(FlightScheduleRepository.class);
+    private final List<FlightSchedule> today = new ArrayList<>();
+    private final List<FlightSchedule> tomorrow = new ArrayList<>();
+    private ConnectionPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByFlightDate(any())).thenReturn(List.of());
+        when(repository.findByFlightDate(DATE)).thenReturn(today);
+        when(repository.findByFlightDate(DATE.plusDays(1))).thenReturn(tomorrow);
+        planner = new ConnectionPlanner(new RouteMatrix(repository, 10, 60), 60, 360, 50);
+    }
+
+    @Test
+    void plan_ranksDirectAndConnectionsByDurationThenFare() {
+        today.add(schedule(today, "direct", Airport.HYD, Airport.COK, "06:00", "10:30", "9000"));
+        today.add(schedule(today, "hyd-blr", Airport.HYD, Airport.BLR, "07:00", "08:00", "3000"));
+        today.add(schedule(today, "blr-cok-cheap", Airport.BLR, Airport.COK, "09:00", "10:00", "2000"));
+        today.add(schedule(today, "blr-cok-pricey", Airport.BLR, Airport.COK, "09:00", "10:00", "2500"));
+
+        List<ItineraryResponse> itineraries = planner.plan(Airport.HYD, Airport.COK, DATE, 2, 1);
+
+        assertEquals(3, itineraries.size());
+        assertEquals(List.of("hyd-blr", "blr-cok-cheap"), ids(itineraries.get(0)));
+        assertEquals(180, itineraries.get(0).getDurationMinutes());
+        assertEquals(new BigDecimal("5000"), itineraries.get(0).getTotalFare());
+        assertEquals(List.of("hyd-blr", "blr-cok-pricey"), ids(itineraries.get(1)));
+        assertEquals(List.of("direct"), ids(itineraries.get(2)));
+    }
+
+    @Test
+    void plan_respectsConnectionWindowAndStopLimit() {
+        today.add(schedule(today, "hyd-blr", Airport.HYD, Airport.BLR, "07:00", "08:00", "3000"));
+        today.add(schedule(today, "too-tight", Airport.BLR, Airport.COK, "08:30", "09:30", "2000"));
+        today.add(schedule(today, "too-late", Airport.BLR, Airport.COK, "15:00", "16:00", "2000"));
+        today.add(schedule(today, "blr-maa", Airport.BLR, Airport.MAA, "10:00", "11:00", "2000"));
+        today.add(schedule(today, "maa-cok", Airport.MAA, Airport.COK, "12:30", "13:30", "2000"));
+
+        List<ItineraryResponse> upToTwoStops = planner.plan(Airport.HYD, Airport.COK, DATE, 2, 1);
+        assertEquals(1, upToTwoStops.size());
+        assertEquals(List.of("hyd-blr", "blr-maa", "maa-cok"), ids(upToTwoStops.get(0)));
+        assertEquals(2, upToTwoStops.get(0).getStops());
+
+        assertEquals(List.of(), planner.plan(Airport.HYD, Airport.COK, DATE, 1, 1));
+    }
+
+    @Test
+    void plan_connectsOvernightIntoTheNextDay() {
+        today.add(schedule(today, "red-eye", Airport.DEL, Airport.BOM, "22:00", "00:30", "4000"));
+        tomorrow.add(schedule(tomorrow, "morning", Airport.BOM, Airport.GOI, "02:00", "03:15", "1500"));
+
+        List<ItineraryResponse> itineraries = planner.plan(Airport.DEL, Airport.GOI, DATE, 1, 1);
+
+        assertEquals(1, itineraries.size());
+        assertEquals(LocalDateTime.of(2026, 1, 16, 3, 15), itineraries.get(0).getArrival());
+        assertEquals(315, itineraries.get(0).getDurationMinutes());
+    }
+
+    @Test
+    void plan_skipsFlightsWithoutEnoughSeats() {
+        FlightSchedule full = schedule(today, "full", Airport.HYD, Airport.COK, "06:00", "07:30", "5000");
+        full.setAvailableSeats(1);
+        today.add(full);
+
+        assertEquals(List.of(), planner.plan(Airport.HYD, Airport.COK, DATE, 0, 2));
+        assertEquals(1, planner.plan(Airport.HYD, Airport.COK, DATE, 0, 1).size());
+    }
+
+    private static List<String> ids(ItineraryResponse itinerary) {
+        return itinerary.getLegs().stream().map(FlightScheduleResponse::getScheduleId).toList();
+    }
+
+    private FlightSchedule schedule(List<FlightSchedule> day, String id, Airport origin, Airport destination,
+                                    String departure, String arrival, String fare) {
+        Flight flight = Flight.builder()
+                .id("flight-" + id)
+                .flightNumber("AI" + id.hashCode())
+                .airline(Airline.AIR_INDIA)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .seatCapacity(180)
+                .build();
+        return FlightSchedule.builder()
+                .id(id)
+                .flight(flight)
+                .flightDate(day == today ? DATE : DATE.plusDays(1))
+                .departureTime(LocalTime.parse(departure))
+                .arrivalTime(LocalTime.parse(arrival))
+                .fare(new BigDecimal(fare))
+                .totalSeats(180)
+                .availableSeats(180)
+                .status(FlightStatus.SCHEDULED)
+                .build();
+    }
+}
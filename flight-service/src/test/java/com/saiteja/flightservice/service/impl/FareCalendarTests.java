@@ -0,0 +1,78 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.dto.FareCalendarDay;
+import com.saiteja.flightservice.exception.BadRequestException;
+import com.saiteja.flightservice.model.enums.Airport;
+import com.saiteja.flightservice.model.enums.FlightStatus;
+import com.saiteja.flightservice.repository.FlightRepository;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FareCalendarTests {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+
+    private final FlightScheduleRepository repository = mock(FlightScheduleRepository.class);
+    private final FlightScheduleServiceImpl service = new FlightScheduleServiceImpl(repository,
+            mock(FlightRepository.class), mock(SeatAllocator.class), mock(RouteMatrix.class),
+            mock(ConnectionPlanner.class), mock(ScheduleBatchWriter.class));
+
+    @Test
+    void getFareCalendar_fillsDaysWithoutSchedules() {
+        FareCalendarDay second = day(FROM.plusDays(1), "4500", 120);
+        FareCalendarDay fourth = day(FROM.plusDays(3), "3900", 15);
+        when(repository.findFareCalendar(Airport.HYD, Airport.DEL, FROM, FROM.plusDays(4), FlightStatus.SCHEDULED))
+                .thenReturn(List.of(second, fourth));
+
+        List<FareCalendarDay> calendar = service.getFareCalendar(Airport.HYD, Airport.DEL, FROM, FROM.plusDays(4));
+
+        assertEquals(5, calendar.size());
+        assertEquals(List.of(FROM, FROM.plusDays(1), FROM.plusDays(2), FROM.plusDays(3), FROM.plusDays(4)),
+                calendar.stream().map(FareCalendarDay::getFlightDate).toList());
+        assertSame(second, calendar.get(1));
+        assertSame(fourth, calendar.get(3));
+        for (int gap : new int[]{0, 2, 4}) {
+            assertNull(calendar.get(gap).getLowestFare());
+            assertEquals(0L, calendar.get(gap).getAvailableSeats());
+            assertEquals(0L, calendar.get(gap).getScheduleCount());
+        }
+    }
+
+    @Test
+    void getFareCalendar_acceptsSixtyTwoDaysAndRejectsMore() {
+        when(repository.findFareCalendar(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        assertEquals(62, service.getFareCalendar(Airport.HYD, Airport.DEL, FROM, FROM.plusDays(61)).size());
+        assertThrows(BadRequestException.class,
+                () -> service.getFareCalendar(Airport.HYD, Airport.DEL, FROM, FROM.plusDays(62)));
+        assertThrows(BadRequestException.class,
+                () -> service.getFareCalendar(Airport.HYD, Airport.DEL, FROM, FROM.minusDays(1)));
+        // Rejected ranges never reach the database
+        verify(repository, times(1)).findFareCalendar(any(), any(), any(), any(), any());
+    }
+
+    private static FareCalendarDay day(LocalDate date, String lowestFare, long seats) {
+        return FareCalendarDay.builder()
+                .flightDate(date)
+                .lowestFare(new BigDecimal(lowestFare))
+                .availableSeats(seats)
+                .scheduleCount(2L)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.model.CabinLayout;
+import com.saiteja.flightservice.model.FlightSchedule;
+import com.saiteja.flightservice.model.SeatMap;
+import com.saiteja.flightservice.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemorySeatAllocatorTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    private final FlightScheduleRepository repository = mock(FlightScheduleRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final InMemorySeatAllocator allocator = new InMemorySeatAllocator(repository, jdbcTemplate, 500,
+            Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void evictDeparted_dropsPastSchedulesOnlyOnceFlushed() {
+        schedule("departed", TODAY.minusDays(1));
+        schedule("today", TODAY);
+
+        allocator.lockSeats("departed", List.of("1A"));
+        allocator.lockSeats("today", List.of("1A"));
+        allocator.evictDeparted();
+        assertEquals(2, allocator.cachedSchedules());
+
+        allocator.flush();
+        allocator.evictDeparted();
+        assertEquals(1, allocator.cachedSchedules());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void evictDeparted_keepsScheduleWhoseFlushFailed() {
+        schedule("departed", TODAY.minusDays(1));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        allocator.lockSeats("departed", List.of("1A"));
+        allocator.flush();
+        allocator.evictDeparted();
+
+        assertEquals(1, allocator.cachedSchedules());
+    }
+
+    private void schedule(String id, LocalDate flightDate) {
+        FlightSchedule schedule = FlightSchedule.builder()
+                .id(id)
+                .flightDate(flightDate)
+                .totalSeats(180)
+                .availableSeats(180)
+                .seatMap(SeatMap.empty(CabinLayout.forCapacity(180)).toBytes())
+                .build();
+        when(repository.findById(id)).thenReturn(Optional.of(schedule));
+    }
+}
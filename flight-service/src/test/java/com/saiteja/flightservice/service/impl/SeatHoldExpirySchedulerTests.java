@@ -0,0 +1,53 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.model.SeatHold;
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import com.saiteja.flightservice.repository.SeatHoldRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatHoldExpirySchedulerTests {
+
+    private final SeatHoldRepository repository = mock(SeatHoldRepository.class);
+    private final SeatAllocator allocator = mock(SeatAllocator.class);
+    private final SeatHoldExpiryScheduler scheduler =
+            new SeatHoldExpiryScheduler(repository, allocator, mock(RouteMatrix.class), 2);
+
+    @Test
+    void sweepUntracked_stopsWhenNoHoldInAFullBatchCanBeReleased() {
+        // The failed holds go back to HELD, so the query keeps returning the same full batch
+        when(repository.findByStatusAndExpiresAtBeforeOrderByExpiresAt(eq(HoldStatus.HELD), any(), any()))
+                .thenReturn(List.of(hold("h-1"), hold("h-2")));
+        when(repository.transition(anyString(), any(), any(), any())).thenReturn(1);
+        doThrow(new IllegalStateException("flight-service db down")).when(allocator).releaseSeats(anyString(), anyList());
+
+        scheduler.sweepUntracked();
+
+        verify(repository, times(1)).findByStatusAndExpiresAtBeforeOrderByExpiresAt(eq(HoldStatus.HELD), any(), any());
+        verify(repository).transition(eq("h-1"), eq(HoldStatus.EXPIRED), eq(HoldStatus.HELD), any());
+    }
+
+    private static SeatHold hold(String id) {
+        return SeatHold.builder()
+                .id(id)
+                .scheduleId("s-1")
+                .seatNumbers(List.of("1A"))
+                .status(HoldStatus.HELD)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.saiteja.flightservice.service.impl;
+
+import com.saiteja.flightservice.cache.RouteMatrix;
+import com.saiteja.flightservice.dto.BatchHoldResult;
+import com.saiteja.flightservice.model.SeatHold;
+import com.saiteja.flightservice.model.enums.HoldStatus;
+import com.saiteja.flightservice.repository.SeatHoldRepository;
+import com.saiteja.flightservice.service.SeatAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatHoldServiceImplTests {
+
+    private final SeatHoldRepository repository = mock(SeatHoldRepository.class);
+    private final SeatAllocator allocator = mock(SeatAllocator.class);
+    private final SeatHoldServiceImpl service = new SeatHoldServiceImpl(repository, allocator,
+            mock(SeatHoldExpiryScheduler.class), mock(RouteMatrix.class), 600);
+
+    @Test
+    void releaseSeats_withTheSameKeyReleasesOnlyOnce() {
+        // The stored hold row: its status changes only through a conditional transition
+        AtomicReference<SeatHold> stored = new AtomicReference<>();
+        when(repository.findByReleaseKey("cmd-1")).thenAnswer(inv -> Optional.ofNullable(stored.get()));
+        when(repository.saveAndFlush(any())).thenAnswer(inv -> {
+            SeatHold hold = inv.getArgument(0);
+            hold.setId("h-1");
+            stored.set(hold);
+            return hold;
+        });
+        when(repository.findById("h-1")).thenAnswer(inv -> Optional.of(stored.get()));
+        when(repository.transition(eq("h-1"), any(), any(), any())).thenAnswer(inv -> {
+            SeatHold hold = stored.get();
+            if (hold.getStatus() != inv.getArgument(1)) {
+                return 0;
+            }
+            hold.setStatus(inv.getArgument(2));
+            return 1;
+        });
+        when(allocator.releaseSeats(anyString(), anyList())).thenReturn(2);
+
+        service.releaseSeats("s-1", List.of("1A", "1B"), "cmd-1");
+        // A redelivery after the seats were sold again must not free them
+        service.releaseSeats("s-1", List.of("1A", "1B"), "cmd-1");
+
+        verify(allocator, times(1)).releaseSeats("s-1", List.of("1A", "1B"));
+        verify(repository, times(1)).saveAndFlush(any());
+        assertEquals(HoldStatus.RELEASED, stored.get().getStatus());
+        assertEquals("cmd-1", stored.get().getReleaseKey());
+    }
+
+    @Test
+    void confirmHoldsBatch_failsOnlyTheHoldsThatCannotBeConfirmed() {
+        SeatHold held = hold("h-1", "s-1", HoldStatus.HELD);
+        SeatHold expired = hold("h-2", "s-1", HoldStatus.EXPIRED);
+        SeatHold otherSchedule = hold("h-3", "s-2", HoldStatus.HELD);
+        when(repository.findAllById(List.of("h-1", "h-2", "h-3", "h-4"))).thenReturn(List.of(held, expired, otherSchedule));
+        when(repository.findById("h-2")).thenReturn(Optional.of(expired));
+        when(repository.transition(eq("h-1"), eq(HoldStatus.HELD), eq(HoldStatus.CONFIRMED), any())).thenReturn(1);
+
+        List<BatchHoldResult> results = service.confirmHoldsBatch("s-1", List.of("h-1", "h-2", "h-3", "h-4"));
+
+        assertEquals(4, results.size());
+        assertEquals("CONFIRMED", results.get(0).getHold().getStatus());
+        assertNull(results.get(0).getError());
+        for (int failed = 1; failed < 4; failed++) {
+            assertEquals(failed, results.get(failed).getIndex());
+            assertNull(results.get(failed).getHold());
+            assertNotNull(results.get(failed).getError());
+        }
+        verify(repository, times(1)).transition(anyString(), any(), any(), any());
+    }
+
+    private static SeatHold hold(String id, String scheduleId, HoldStatus status) {
+        return SeatHold.builder()
+                .id(id)
+                .scheduleId(scheduleId)
+                .seatNumbers(List.of("1A"))
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+    }
+}